@@ -0,0 +1,107 @@
+package frc.robot.hardware;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.components.Drivetrain;
+import frc.robot.components.Intake;
+import frc.robot.components.ManualElevator;
+import frc.robot.components.Wrist;
+import frc.robot.utils.VirtualClock;
+
+/**
+ * One teleop tick of the robot, as in Robot.teleopPeriodic plus a wrist
+ * update, with every component running on mock hardware. A call latency of
+ * zero measures just our own code, otherwise every CAN call spins for that
+ * long as it would on the roboRIO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RobotLoopBenchmark {
+    private static final int sampleCount = 1024;
+
+    @Param({ "0.0", "0.00002" })
+    public double callLatency;
+
+    private MockCanBus bus;
+    private MockMotor leftDrive, rightDrive, winch, wristMotor;
+    private MockLimitSwitch bottomLimit;
+    private VirtualClock clock;
+    private Drivetrain drivetrain;
+    private ManualElevator elevator;
+    private Intake intake;
+    private Wrist wrist;
+    // Joystick axes and buttons
+    private double[] forward, rotation, elevatorSpeed;
+    private boolean[] intakeButton;
+    private int index;
+
+    @Setup
+    public void setup() {
+        bus = new MockCanBus(callLatency, true);
+        leftDrive = new MockMotor(bus);
+        rightDrive = new MockMotor(bus);
+        winch = new MockMotor(bus);
+        wristMotor = new MockMotor(bus);
+        bottomLimit = new MockLimitSwitch();
+        clock = new VirtualClock();
+
+        drivetrain = new Drivetrain(leftDrive, leftDrive, rightDrive, rightDrive, new MockGyro(), clock);
+        elevator = new ManualElevator(winch, winch, bottomLimit);
+        intake = new Intake(new MockMotor(bus), new MockMotor(bus), new MockPiston());
+        wrist = new Wrist(wristMotor, wristMotor);
+        wrist.resetDown();
+
+        Random random = new Random(2733);
+        forward = new double[sampleCount];
+        rotation = new double[sampleCount];
+        elevatorSpeed = new double[sampleCount];
+        intakeButton = new boolean[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            forward[i] = random.nextDouble() * 2.0 - 1.0;
+            rotation[i] = random.nextDouble() * 2.0 - 1.0;
+            elevatorSpeed[i] = random.nextDouble() * 2.0 - 1.0;
+            intakeButton[i] = random.nextInt(8) == 0;
+        }
+    }
+
+    @Benchmark
+    public double teleopPeriodic() {
+        index = (index + 1) & (sampleCount - 1);
+        clock.advance(0.02);
+        // Sensors move with the last outputs so the components see changing state
+        leftDrive.setSensor(leftDrive.getOutput() * 400.0 * index, leftDrive.getOutput() * 400.0);
+        rightDrive.setSensor(rightDrive.getOutput() * 400.0 * index, rightDrive.getOutput() * 400.0);
+        wristMotor.setSensor(wristMotor.getOutput() * 100.0 * index, 0.0);
+        bottomLimit.set(index == 0);
+
+        wrist.setTarget(Wrist.Target.UP);
+        if (intakeButton[index]) {
+            intake.intake();
+            wrist.setTarget(Wrist.Target.DOWN);
+        }
+        elevator.setSpeed(elevatorSpeed[index]);
+
+        wrist.update(clock.getTime());
+        intake.update();
+        elevator.update();
+        drivetrain.arcadeDrive(forward[index], rotation[index]);
+        return leftDrive.getOutput() + rightDrive.getOutput();
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot.motion;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkBenchmark {
+    private static final int sampleCount = 1024;
+
+    private Chunk chunk;
+    // Random inputs so nothing is constant folded
+    private double[] times, velocities;
+    private int index;
+
+    @Setup
+    public void setup() {
+        chunk = Chunk.createVelocityTransition(1.0, 3.0, 2.0, 1.0);
+
+        Random random = new Random(2733);
+        times = new double[sampleCount];
+        velocities = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            times[i] = random.nextDouble() * chunk.getDuration();
+            velocities[i] = random.nextDouble() * 8.0 - 4.0;
+        }
+    }
+
+    @Benchmark
+    public double getPosition() {
+        index = (index + 1) & (sampleCount - 1);
+        return chunk.getPosition(times[index]);
+    }
+
+    @Benchmark
+    public double getVelocity() {
+        index = (index + 1) & (sampleCount - 1);
+        return chunk.getVelocity(times[index]);
+    }
+
+    @Benchmark
+    public Chunk createVelocityTransition() {
+        index = (index + 1) & (sampleCount - 1);
+        return Chunk.createVelocityTransition(velocities[index], 2.0, 2.0, 1.0);
+    }
+}
@@ -0,0 +1,77 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The previous StaticProfile storage - boxed chunks in a list next to the
+ * start time and position arrays - kept as a baseline for ProfileBuffer
+ * benchmarks
+ */
+class ChunkListStorage {
+    private final ArrayList<Chunk> chunks;
+    private final double[] chunkStartTimes, chunkStartPositions;
+    private int lastChunk;
+
+    ChunkListStorage(List<Chunk> chunks, double startingPosition) {
+        this.chunks = new ArrayList<Chunk>(chunks);
+        chunkStartTimes = new double[chunks.size() + 1];
+        chunkStartPositions = new double[chunks.size() + 1];
+
+        double chunkStartTime = 0.0;
+        double previousDistance = startingPosition;
+        for (int i = 0; i < chunks.size(); i++) {
+            chunkStartTimes[i] = chunkStartTime;
+            chunkStartPositions[i] = previousDistance;
+            chunkStartTime += chunks.get(i).getDuration();
+            previousDistance += chunks.get(i).getTotalDistance();
+        }
+        chunkStartTimes[chunks.size()] = chunkStartTime;
+        chunkStartPositions[chunks.size()] = previousDistance;
+    }
+
+    double getDuration() {
+        return chunkStartTimes[chunks.size()];
+    }
+
+    void sample(double time, ProfileState out) {
+        final int index = findChunk(time);
+        if (index == chunks.size()) {
+            out.set(chunkStartPositions[index], 0.0, 0.0);
+            return;
+        }
+        final Chunk chunk = chunks.get(index);
+        final double chunkTime = time - chunkStartTimes[index];
+        out.set(chunk.getPosition(chunkTime) + chunkStartPositions[index], chunk.getVelocity(chunkTime),
+                chunk.getAcceleration());
+    }
+
+    private int findChunk(double time) {
+        final int chunkCount = chunks.size();
+
+        int hint = lastChunk;
+        if (hint < chunkCount && time < chunkStartTimes[hint + 1] && (hint == 0 || time >= chunkStartTimes[hint])) {
+            return hint;
+        }
+        hint++;
+        if (hint < chunkCount && time < chunkStartTimes[hint + 1] && time >= chunkStartTimes[hint]) {
+            lastChunk = hint;
+            return hint;
+        }
+
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (time < chunkStartTimes[middle + 1]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (low < chunkCount) {
+            lastChunk = low;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,104 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sampling from ProfileBuffer's parallel arrays against the previous list of
+ * boxed chunks, with the same lookup
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkStorageBenchmark {
+    private static final int sampleCount = 1024;
+    // Samples per sweep over the whole profile
+    private static final int sweepSamples = 4096;
+
+    @Param({ "10", "1000", "100000" })
+    public int chunkCount;
+
+    private ProfileBuffer buffer;
+    private ChunkListStorage list;
+    private ProfileState state;
+    private double[] randomTimes;
+    private int index;
+
+    @Setup
+    public void setup() {
+        // Chunks allocated in a shuffled order, like profiles built over a long
+        // running program, so boxed chunks aren't laid out in sequence
+        Random random = new Random(2733);
+        List<Chunk> chunks = new ArrayList<Chunk>();
+        List<Chunk> other = new ArrayList<Chunk>();
+        for (int i = 0; i < chunkCount; i++) {
+            double startVelocity = 1.0 + random.nextDouble();
+            Chunk chunk = Chunk.createVelocityTransition(startVelocity, startVelocity + random.nextDouble(), 2.0,
+                    1.0);
+            (random.nextBoolean() ? chunks : other).add(chunk);
+        }
+        chunks.addAll(other);
+
+        buffer = new ProfileBuffer(chunks, 0.0);
+        list = new ChunkListStorage(chunks, 0.0);
+        state = new ProfileState();
+
+        randomTimes = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            randomTimes[i] = random.nextDouble() * buffer.getDuration();
+        }
+    }
+
+    @Benchmark
+    public double bufferRandomSample() {
+        index = (index + 1) & (sampleCount - 1);
+        buffer.sample(randomTimes[index], state);
+        return state.getPosition();
+    }
+
+    @Benchmark
+    public double listRandomSample() {
+        index = (index + 1) & (sampleCount - 1);
+        list.sample(randomTimes[index], state);
+        return state.getPosition();
+    }
+
+    @Benchmark
+    public double bufferSweep() {
+        final double step = buffer.getDuration() / sweepSamples;
+        double sum = 0.0;
+        for (int i = 0; i < sweepSamples; i++) {
+            buffer.sample(i * step, state);
+            sum += state.getPosition();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double listSweep() {
+        final double step = list.getDuration() / sweepSamples;
+        double sum = 0.0;
+        for (int i = 0; i < sweepSamples; i++) {
+            list.sample(i * step, state);
+            sum += state.getPosition();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,75 @@
+package frc.robot.motion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in sampled tables - a baked StaticProfile reading heap arrays
+ * against the same samples memory mapped from a file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SampledProfileBenchmark {
+    private static final int sampleCount = 1024;
+
+    private StaticProfile baked;
+    private MappedProfile mapped;
+    private Path path;
+    private ProfileState state;
+    private double[] randomTimes;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        baked = new StaticProfile(0.5, 1.0, 12.0, 3.0, 1.0, 1.5, 0.01);
+        path = Files.createTempFile("profile", ".bin");
+        MappedProfile.write(new StaticProfile(0.5, 1.0, 12.0, 3.0, 1.0, 1.5), new ProfileLimits(3.0, 1.0, 1.5),
+                0.01, path);
+        mapped = MappedProfile.load(path);
+        state = new ProfileState();
+
+        Random random = new Random(2733);
+        randomTimes = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            randomTimes[i] = random.nextDouble() * baked.getDuration();
+        }
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public double bakedSample() {
+        index = (index + 1) & (sampleCount - 1);
+        baked.sample(randomTimes[index], state);
+        return state.getPosition();
+    }
+
+    @Benchmark
+    public double mappedSample() {
+        index = (index + 1) & (sampleCount - 1);
+        mapped.sample(randomTimes[index], state);
+        return state.getPosition();
+    }
+}
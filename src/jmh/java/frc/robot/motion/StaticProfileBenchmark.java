@@ -0,0 +1,107 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StaticProfileBenchmark {
+    private static final int sampleCount = 1024;
+
+    @Param({ "3", "10", "100", "1000", "10000" })
+    public int chunkCount;
+
+    private StaticProfile profile;
+    private ProfileState state;
+    private double[] randomTimes;
+    // Evenly spaced times over the whole profile, and outputs for them
+    private double[] sweepTimes, positions, velocities, accelerations;
+    private double time;
+    private int index;
+
+    @Setup
+    public void setup() {
+        List<Chunk> chunks = new ArrayList<Chunk>();
+        for (int i = 0; i < chunkCount; i++) {
+            switch (i % 3) {
+            case 0:
+                chunks.add(Chunk.createVelocityTransition(1.0, 3.0, 2.0, 1.0));
+                break;
+            case 1:
+                chunks.add(Chunk.createConstantVelocity(3.0, 1.5));
+                break;
+            default:
+                chunks.add(Chunk.createVelocityTransition(3.0, 1.0, 2.0, 1.0));
+            }
+        }
+        profile = new StaticProfile(chunks, 0.0);
+        state = new ProfileState();
+
+        Random random = new Random(2733);
+        randomTimes = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            randomTimes[i] = random.nextDouble() * profile.getDuration();
+        }
+
+        sweepTimes = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            sweepTimes[i] = i * profile.getDuration() / sampleCount;
+        }
+        positions = new double[sampleCount];
+        velocities = new double[sampleCount];
+        accelerations = new double[sampleCount];
+    }
+
+    @Benchmark
+    public double randomSample() {
+        index = (index + 1) & (sampleCount - 1);
+        profile.sample(randomTimes[index], state);
+        return state.getPosition();
+    }
+
+    @Benchmark
+    public double sequentialSample() {
+        // 20ms control loop ticks, starting over at the end of the profile
+        time += 0.02;
+        if (time > profile.getDuration()) {
+            time = 0.0;
+        }
+        profile.sample(time, state);
+        return state.getPosition();
+    }
+
+    @Benchmark
+    public double[] sweepSampleLoop() {
+        for (int i = 0; i < sampleCount; i++) {
+            profile.sample(sweepTimes[i], state);
+            positions[i] = state.getPosition();
+            velocities[i] = state.getVelocity();
+            accelerations[i] = state.getAcceleration();
+        }
+        return positions;
+    }
+
+    @Benchmark
+    public double[] sweepSampleInto() {
+        profile.sampleInto(sweepTimes, positions, velocities, accelerations);
+        return positions;
+    }
+}
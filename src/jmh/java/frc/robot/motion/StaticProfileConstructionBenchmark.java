@@ -0,0 +1,66 @@
+package frc.robot.motion;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StaticProfileConstructionBenchmark {
+    public enum Shape {
+        TRAPEZOID, TRIANGLE, WRONG_DIRECTION, OVERSHOOT
+    }
+
+    @Param
+    public Shape shape;
+
+    // currentVelocity, currentPosition, targetDistance, maxVelocity, maxAccel,
+    // maxDecel
+    private double[] parameters;
+    private RecursiveChunkSolver recursiveSolver;
+
+    @Setup
+    public void setup() {
+        switch (shape) {
+        case TRAPEZOID:
+            parameters = new double[] { 0.0, 0.0, 16.0, 4.0, 2.0, 1.0 };
+            break;
+        case TRIANGLE:
+            parameters = new double[] { 0.0, 0.0, 35.69, 9.0, 2.0, 2.15 };
+            break;
+        case WRONG_DIRECTION:
+            parameters = new double[] { -1, 0.5, 16.0, 4.0, 2.0, 1.0 };
+            break;
+        default:
+            parameters = new double[] { 50.0, 0.0, 1000.0, 10.0, 1.0, 1.0 };
+        }
+        recursiveSolver = new RecursiveChunkSolver(parameters[3], parameters[4], parameters[5]);
+    }
+
+    @Benchmark
+    public StaticProfile closedForm() {
+        return new StaticProfile(parameters[0], parameters[1], parameters[2], parameters[3], parameters[4],
+                parameters[5]);
+    }
+
+    @Benchmark
+    public StaticProfile recursive() {
+        List<Chunk> chunks = recursiveSolver.solve(parameters[0], parameters[1], parameters[2]);
+        return new StaticProfile(chunks, parameters[1]);
+    }
+}
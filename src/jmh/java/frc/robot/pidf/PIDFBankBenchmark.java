@@ -0,0 +1,73 @@
+package frc.robot.pidf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.utils.Bounds;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PIDFBankBenchmark {
+    // Drive sides, elevator and wrist, up to a swerve drive and more
+    @Param({ "4", "8", "64" })
+    public int controllerCount;
+
+    private PIDF[] controllers;
+    private PIDFBank bank;
+    private double[] inputs, setpoints, velocities, accelerations, outputs;
+    private double time;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(2733);
+        controllers = new PIDF[controllerCount];
+        bank = new PIDFBank(controllerCount);
+        inputs = new double[controllerCount];
+        setpoints = new double[controllerCount];
+        velocities = new double[controllerCount];
+        accelerations = new double[controllerCount];
+        outputs = new double[controllerCount];
+        for (int i = 0; i < controllerCount; i++) {
+            Gains gains = new Gains(random.nextDouble(), random.nextDouble(), random.nextDouble(), 0.0, 0.25, 0.02);
+            controllers[i] = new PIDF(gains, new Bounds(-1.0, 1.0));
+            bank.add(gains, new Bounds(-1.0, 1.0));
+            inputs[i] = random.nextDouble() * 2.0 - 1.0;
+            setpoints[i] = random.nextDouble() * 2.0 - 1.0;
+            velocities[i] = random.nextDouble();
+            accelerations[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double[] separateControllers() {
+        time += 0.02;
+        for (int i = 0; i < controllerCount; i++) {
+            outputs[i] = controllers[i].calculateOutput(inputs[i], setpoints[i], velocities[i], accelerations[i],
+                    time);
+        }
+        return outputs;
+    }
+
+    @Benchmark
+    public double[] bank() {
+        time += 0.02;
+        bank.calculateOutputs(inputs, setpoints, velocities, accelerations, time, outputs);
+        return outputs;
+    }
+}
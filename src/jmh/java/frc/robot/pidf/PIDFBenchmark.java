@@ -0,0 +1,72 @@
+package frc.robot.pidf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.utils.Bounds;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PIDFBenchmark {
+    private static final int sampleCount = 1024;
+
+    private PIDF controller, continuousController;
+    // Noisy measurements around the setpoint
+    private double[] inputs;
+    private double time;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Gains gains = new Gains(0.5, 0.1, 0.05, 0.0, 0.25, 0.02);
+        controller = new PIDF(gains, new Bounds(-1.0, 1.0));
+        controller.initialize(0.0, 0.0, 0.0);
+
+        continuousController = new PIDF(gains, new Bounds(-1.0, 1.0));
+        continuousController.setContinuous(new Bounds(-Math.PI, Math.PI), true);
+        continuousController.setDerivativeOnInput(true);
+        continuousController.initialize(0.0, 0.0, 0.0);
+
+        Random random = new Random(2733);
+        inputs = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            inputs[i] = random.nextDouble() * 2.0 - 1.0;
+        }
+    }
+
+    @Benchmark
+    public double calculateOutput() {
+        index = (index + 1) & (sampleCount - 1);
+        time += 0.02;
+        return controller.calculateOutput(inputs[index], 0.5, time);
+    }
+
+    @Benchmark
+    public double calculateOutputFeedforward() {
+        index = (index + 1) & (sampleCount - 1);
+        time += 0.02;
+        return controller.calculateOutput(inputs[index], 0.5, 1.5, 0.5, time);
+    }
+
+    @Benchmark
+    public double calculateOutputContinuous() {
+        index = (index + 1) & (sampleCount - 1);
+        time += 0.02;
+        return continuousController.calculateOutput(inputs[index] * Math.PI, 3.0, time);
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilsBenchmark {
+    private static final int sampleCount = 1024;
+
+    private Bounds bounds;
+    // Half of the values are outside of the bounds
+    private double[] values;
+    private int index;
+
+    @Setup
+    public void setup() {
+        bounds = new Bounds(-1.0, 1.0);
+
+        Random random = new Random(2733);
+        values = new double[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            values[i] = random.nextDouble() * 4.0 - 2.0;
+        }
+    }
+
+    @Benchmark
+    public double clamp() {
+        index = (index + 1) & (sampleCount - 1);
+        return bounds.clamp(values[index]);
+    }
+
+    @Benchmark
+    public double lerp() {
+        index = (index + 1) & (sampleCount - 1);
+        return Utils.lerp(values[index], -2.0, 2.0, 0.0, 4096.0);
+    }
+}
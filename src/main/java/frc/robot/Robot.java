@@ -20,6 +20,13 @@ import frc.robot.components.ManualElevator;
 // import frc.robot.components.ProfiledElevator;
 import frc.robot.auto.Forward;
 import frc.robot.auto.CenterSwitch;
+import frc.robot.hardware.DigitalLimitSwitch;
+import frc.robot.hardware.DoubleSolenoidPiston;
+import frc.robot.hardware.NavXGyro;
+import frc.robot.hardware.SpeedControllerMotor;
+import frc.robot.hardware.TalonSRXMotor;
+import frc.robot.loops.LoopScheduler;
+import frc.robot.utils.FPGAClock;
 
 public class Robot extends TimedRobot {
     private Drivetrain drivetrain;
@@ -33,6 +40,9 @@ public class Robot extends TimedRobot {
     // private ProfiledElevator elevator;
     private Intake intake;
     private Wrist wrist;
+    private LoopScheduler loops;
+    // Read once at the start of every tick and shared by everything updated in it
+    private FPGAClock clock;
 
     private SendableChooser<AutoMode> autoChooser;
     private Forward autoForward;
@@ -43,6 +53,8 @@ public class Robot extends TimedRobot {
     }
 
     public void robotInit() {
+        clock = new FPGAClock();
+
         WPI_TalonSRX leftDrive = new WPI_TalonSRX(0);
         WPI_TalonSRX rightDrive = new WPI_TalonSRX(2);
 
@@ -64,11 +76,22 @@ public class Robot extends TimedRobot {
 
         wristMotor = new WPI_TalonSRX(8);
 
-        drivetrain = new Drivetrain(leftDrive, rightDrive, navx);
-        elevator = new ManualElevator(winch, bottomLimit);
-        // elevator = new ProfiledElevator(winch, bottomLimit);
-        intake = new Intake(leftIntakeMotor, rightIntakeMotor, intakeSolenoid);
-        wrist = new Wrist(wristMotor);
+        // Components only see the hardware interfaces, so they can also run on mocks
+        TalonSRXMotor leftDriveMotor = new TalonSRXMotor(leftDrive);
+        TalonSRXMotor rightDriveMotor = new TalonSRXMotor(rightDrive);
+        // Same expiration DifferentialDrive used
+        leftDriveMotor.enableSafety(0.1);
+        rightDriveMotor.enableSafety(0.1);
+        TalonSRXMotor winchMotor = new TalonSRXMotor(winch);
+        TalonSRXMotor wristTalonMotor = new TalonSRXMotor(wristMotor);
+
+        drivetrain = new Drivetrain(leftDriveMotor, leftDriveMotor, rightDriveMotor, rightDriveMotor,
+                new NavXGyro(navx), clock);
+        elevator = new ManualElevator(winchMotor, winchMotor, new DigitalLimitSwitch(bottomLimit));
+        // elevator = new ProfiledElevator(winchMotor, winchMotor, new DigitalLimitSwitch(bottomLimit), clock);
+        intake = new Intake(new SpeedControllerMotor(leftIntakeMotor), new SpeedControllerMotor(rightIntakeMotor),
+                new DoubleSolenoidPiston(intakeSolenoid));
+        wrist = new Wrist(wristTalonMotor, wristTalonMotor);
 
         driverJoystick = new Joystick(0);
         operatorJoystick = new Joystick(1);
@@ -82,23 +105,48 @@ public class Robot extends TimedRobot {
         autoChooser.addObject("None", AutoMode.NONE);
         autoChooser.addObject("Center Switch", AutoMode.CENTER_SWITCH);
         SmartDashboard.putData("Auto Selector", autoChooser);
-        autoCenterSwitch = new CenterSwitch(drivetrain/* , elevator, intake */);
-        autoForward = new Forward(drivetrain);
+        autoCenterSwitch = new CenterSwitch(drivetrain/* , elevator, intake */, clock);
+        autoForward = new Forward(drivetrain, clock);
+
+        // Closed loop control runs independent of the main loop. The wrist stays at
+        // the 20ms period its gains were tuned at, its derivative term would see
+        // four times the encoder noise at 5ms.
+        loops = new LoopScheduler();
+        loops.register("Wrist", wrist::update, 0.02);
 
         setPeriod(0.02);
     }
 
+    public void robotPeriodic() {
+        loops.putStats();
+    }
+
+    public void disabledInit() {
+        loops.stop();
+    }
+
     public void teleopInit() {
+        clock.update();
         wrist.resetDown();
+        loops.start();
     }
 
     public void autonomousInit() {
+        clock.update();
         wrist.resetTop();
         wrist.setTarget(Wrist.Target.DOWN);
         autoCenterSwitch.initialize();
+        // The wrist isn't driven in autonomous, its loop only starts in teleop
+        loops.stop();
+    }
+
+    public void testInit() {
+        // Test mode drives the motors directly
+        loops.stop();
     }
 
     public void teleopPeriodic() {
+        clock.update();
         wrist.setTarget(Wrist.Target.UP);
         if (xboxB.get()) {
             intake.intake();
@@ -119,7 +167,6 @@ public class Robot extends TimedRobot {
 
         elevator.setSpeed(-operatorJoystick.getY());
 
-        wrist.update();
         intake.update();
         elevator.update();
         drivetrain.arcadeDrive(-driverJoystick.getY(), driverJoystick.getX());
@@ -131,6 +178,7 @@ public class Robot extends TimedRobot {
     }
 
     public void autonomousPeriodic() {
+        clock.update();
         AutoMode autoMode = autoChooser.getSelected();
 
         if (autoMode == AutoMode.NONE) {
@@ -1,12 +1,13 @@
 package frc.robot.auto;
 
-import edu.wpi.first.wpilibj.Timer;
 import frc.robot.components.Drivetrain;
+import frc.robot.utils.Clock;
 // import frc.robot.components.ProfiledElevator;
 // import frc.robot.components.Intake;
 
 public class CenterSwitch {
     private Drivetrain drivetrain;
+    private final Clock clock;
     private Drivetrain.ProfileTask task;
 
     private enum State {
@@ -18,8 +19,9 @@ public class CenterSwitch {
     // private Intake intake;
     private double stateStartTime;
 
-    public CenterSwitch(Drivetrain drivetrain/* , ProfiledElevator elevator, Intake intake */) {
+    public CenterSwitch(Drivetrain drivetrain/* , ProfiledElevator elevator, Intake intake */, Clock clock) {
         this.drivetrain = drivetrain;
+        this.clock = clock;
         // this.elevator = elevator;
         // this.intake = intake;
         this.state = State.FORWARD;
@@ -49,12 +51,12 @@ public class CenterSwitch {
         // } else if (state == State.TO_SWITCH) {
         // if (task.update()) {
         // state = State.EJECT;
-        // stateStartTime = Timer.getFPGATimestamp();
+        // stateStartTime = clock.getTime();
         // }
         // } else if (state == State.EJECT) {
         // intake.outtake(0.6);
         // double stateLength = 1.0;
-        // if (Timer.getFPGATimestamp() - stateStartTime > stateLength) {
+        // if (clock.getTime() - stateStartTime > stateLength) {
         // state = State.REVERSE;
         // task = drivetrain.forwardTask(-0.8);
         // }
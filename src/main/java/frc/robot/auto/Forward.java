@@ -1,23 +1,25 @@
 package frc.robot.auto;
 
-import edu.wpi.first.wpilibj.Timer;
 import frc.robot.components.Drivetrain;
+import frc.robot.utils.Clock;
 
 public class Forward {
     private Drivetrain drivetrain;
+    private final Clock clock;
     private double startTime;
 
-    public Forward(Drivetrain drivetrain) {
+    public Forward(Drivetrain drivetrain, Clock clock) {
         this.drivetrain = drivetrain;
+        this.clock = clock;
         this.startTime = -1.0;
     }
 
     public void update() {
         if (startTime == -1.0) {
-            startTime = Timer.getFPGATimestamp();
+            startTime = clock.getTime();
         }
 
-        if (Timer.getFPGATimestamp() - startTime < 2) {
+        if (clock.getTime() - startTime < 2) {
             drivetrain.arcadeDrive(0.5, 0);
         }
     }
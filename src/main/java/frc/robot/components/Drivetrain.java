@@ -1,15 +1,32 @@
 package frc.robot.components;
 
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import com.kauailabs.navx.frc.AHRS;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
-import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.drive.DifferentialDrive;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.hardware.Encoder;
+import frc.robot.hardware.Gyro;
+import frc.robot.hardware.Motor;
+import frc.robot.motion.Profile;
+import frc.robot.motion.ProfilePlanner;
+import frc.robot.motion.ProfileState;
+import frc.robot.motion.SCurveProfile;
 import frc.robot.motion.StaticProfile;
+import frc.robot.motion.Waypoint;
+import frc.robot.motion.WaypointProfile;
 import frc.robot.pidf.Gains;
 import frc.robot.pidf.PIDF;
+import frc.robot.trajectory.Odometry;
+import frc.robot.trajectory.Pose;
+import frc.robot.trajectory.RamseteController;
+import frc.robot.trajectory.Trajectory;
+import frc.robot.trajectory.TrajectoryConfig;
+import frc.robot.trajectory.TrajectoryGenerator;
+import frc.robot.trajectory.TrajectoryState;
 import frc.robot.utils.Bounds;
+import frc.robot.utils.Clock;
 //import frc.robot.utils.Plot;
 
 public class Drivetrain {
@@ -18,17 +35,41 @@ public class Drivetrain {
     }
 
     public class ProfileTask {
-        private StaticProfile profile;
+        private final Future<Profile> plannedProfile;
+        // Null until planning finishes
+        private Profile profile;
+        private final ProfileState setpoint;
         private PIDF pidController;
-        private double profileStartTime;
+        private double taskStartTime, profileStartTime;
         private ProfileTaskType type;
         private double startValue, targetEndValue;
 
-        private ProfileTask(StaticProfile profile, PIDF pidController, double profileStartTime, ProfileTaskType type) {
-            this.profile = profile;
+        private ProfileTask(Future<Profile> plannedProfile, PIDF pidController, double taskStartTime,
+                ProfileTaskType type) {
+            this.plannedProfile = plannedProfile;
             this.pidController = pidController;
             this.type = type;
-            this.profileStartTime = profileStartTime;
+            this.taskStartTime = taskStartTime;
+            this.setpoint = new ProfileState();
+
+            if (type == ProfileTaskType.DRIVE) {
+                startValue = getTotalDistance();
+                pidController.initialize(startValue, 0.0, 0.0);
+            } else {
+                startValue = getOrientation();
+                pidController.initialize(0.0, 0.0, 0.0);
+            }
+        }
+
+        // Swap in the profile once planning finishes, returns whether there is one
+        private boolean checkPlanned(double time) {
+            if (profile != null) {
+                return true;
+            }
+            Profile planned = ProfilePlanner.getIfDone(plannedProfile);
+            if (planned == null) {
+                return false;
+            }
 
             // Plot profilePlot = new Plot("profile", profile::getVelocity,
             // profile.getDuration(), "Velocity", 0.025);
@@ -37,96 +78,293 @@ public class Drivetrain {
 
             // profilePlot.savePlot("./graphs/auto/");
 
-            targetEndValue = this.profile.getPosition(this.profile.getDuration());
+            profile = planned;
+            profileStartTime = time;
+            targetEndValue = profile.getPosition(profile.getDuration());
 
-            if (type == ProfileTaskType.DRIVE) {
-                startValue = getTotalDistance();
-                pidController.initialize(startValue, 0.0, 0.0);
-            } else {
-                startValue = getOrientation();
-                pidController.initialize(0.0, 0.0, 0.0);
-            }
+            SmartDashboard.putNumber("Plan wait (s)", time - taskStartTime);
+            SmartDashboard.putNumber("Max plan time (s)", planner.getMaxPlanTime());
+            SmartDashboard.putNumber("Max plan submit time (s)", planner.getMaxSubmitTime());
+            return true;
         }
 
         public boolean update() {
-            double time = Timer.getFPGATimestamp();
-            double elapsedTime = time - profileStartTime;
-            double currentTarget = profile.getPosition(elapsedTime);
+            double time = clock.getTime();
+            double elapsedTime = time - taskStartTime;
+
+            // Hold where the task started until the profile is ready
+            if (!checkPlanned(time)) {
+                if (type == ProfileTaskType.DRIVE) {
+                    arcadeDrive(pidController.calculateOutput(getTotalDistance(), startValue, elapsedTime), 0.0);
+                } else {
+                    arcadeDrive(0.0, pidController.calculateOutput(getOrientation() - startValue, 0.0, elapsedTime));
+                }
+                return false;
+            }
+
+            double profileTime = time - profileStartTime;
+            profile.sample(profileTime, setpoint);
+            double currentTarget = setpoint.getPosition();
             if (type == ProfileTaskType.DRIVE) {
-                double targetVelocity = profile.getVelocity(elapsedTime);
-                double speed = pidController.calculateOutput(getTotalDistance(), currentTarget, targetVelocity, 0.0,
-                        elapsedTime);
+                double targetVelocity = setpoint.getVelocity();
+                double speed = pidController.calculateOutput(getTotalDistance(), currentTarget, targetVelocity,
+                        setpoint.getAcceleration(), elapsedTime);
                 System.out.println("Target pos: " + (currentTarget - startValue) + "  Current pos: "
                         + (getTotalDistance() - startValue) + "  Target velo: " + targetVelocity + "  Output speed: "
                         + speed);
-                arcadeDrive(speed, 0.0);
+                // With feedforward, not squared so the output stays linear in velocity
+                arcadeDrive(speed, 0.0, !useDriveFeedforward);
             } else {
                 double rotation = pidController.calculateOutput(getOrientation() - startValue, currentTarget, 0.0, 0.0,
                         elapsedTime);
                 arcadeDrive(0.0, rotation);
             }
-            return (elapsedTime > profile.getDuration() && (targetEndValue - currentTarget) < (targetEndValue * 0.01));
+            return (profileTime > profile.getDuration()
+                    && (targetEndValue - currentTarget) < (targetEndValue * 0.01));
+        }
+    }
+
+    public class TrajectoryTask {
+        private final Future<Trajectory> plannedTrajectory;
+        // Null until planning finishes
+        private Trajectory trajectory;
+        private RamseteController controller;
+        private final TrajectoryState setpoint;
+        private double startTime;
+
+        private TrajectoryTask(Future<Trajectory> plannedTrajectory) {
+            this.plannedTrajectory = plannedTrajectory;
+            this.setpoint = new TrajectoryState();
+            if (!useDriveFeedforward) {
+                System.out.println("Trajectory following is off until wheelGains are characterized");
+            }
+        }
+
+        public boolean update() {
+            if (!useDriveFeedforward) {
+                // Wheel outputs are pure feedforward from wheelGains, so don't move until
+                // they are characterized
+                tankDrive(0.0, 0.0);
+                return true;
+            }
+
+            double time = clock.getTime();
+            if (trajectory == null) {
+                Trajectory planned = ProfilePlanner.getIfDone(plannedTrajectory);
+                if (planned == null) {
+                    // Stay stopped until the trajectory is ready
+                    tankDrive(0.0, 0.0);
+                    return false;
+                }
+                trajectory = planned;
+                controller = new RamseteController(2.0, 0.7, trajectory.getTrackWidth());
+                startTime = time;
+                odometry.reset(trajectory.getStartPose(), getLeftDistance(), getRightDistance(), getOrientation());
+            }
+
+            double elapsedTime = time - startTime;
+            odometry.update(getLeftDistance(), getRightDistance(), getOrientation());
+            trajectory.sample(elapsedTime, setpoint);
+
+            controller.calculate(odometry.getX(), odometry.getY(), odometry.getHeading(), setpoint);
+            double left = wheelGains.kV() * controller.getLeftVelocity()
+                    + wheelGains.kA() * setpoint.getAcceleration();
+            double right = wheelGains.kV() * controller.getRightVelocity()
+                    + wheelGains.kA() * setpoint.getAcceleration();
+            tankDrive(wheelBounds.clamp(left), wheelBounds.clamp(right));
+
+            return elapsedTime > trajectory.getDuration();
         }
     }
 
-    private WPI_TalonSRX rightDrive;
-    private DifferentialDrive drive;
-    private AHRS navx;
+    // Wheel velocity in m/s to motor output, to be replaced with the kV and kA
+    // from a FeedforwardCharacterizer run on the robot
+    private static final Gains wheelGains = new Gains(0.0, 0.0, 0.0, 0.0, 0.25, 0.02);
+    // Whether drive tasks use wheelGains' feedforward, off until the values above
+    // are characterized so autonomous drives as it always has. Profile tasks run
+    // without it, trajectory tasks finish immediately without moving.
+    private static final boolean useDriveFeedforward = false;
+    // Whether forward and rotate tasks limit jerk, off until the jerk limit is
+    // tuned on the robot, since it makes every move slower
+    private static final boolean useSCurveProfiles = false;
+    private static final Bounds wheelBounds = new Bounds(-0.8, 0.8);
+    private static final double trackWidth = 0.6;
+    private static final Bounds driveBounds = new Bounds(-1.0, 1.0);
+    private static final double deadband = 0.02;
+
+    private Motor leftDrive, rightDrive;
+    private Encoder leftEncoder, rightEncoder;
+    private Gyro gyro;
+    private Odometry odometry;
+    private final Clock clock;
+    // Shared by every task, so planning never runs on the control thread
+    private final ProfilePlanner planner;
 
-    public Drivetrain(WPI_TalonSRX leftDrive, WPI_TalonSRX rightDrive, AHRS navx) {
-        leftDrive.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
-        rightDrive.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
-        drive = new DifferentialDrive(leftDrive, rightDrive);
+    public Drivetrain(Motor leftDrive, Encoder leftEncoder, Motor rightDrive, Encoder rightEncoder, Gyro gyro,
+            Clock clock) {
+        this.leftDrive = leftDrive;
+        this.leftEncoder = leftEncoder;
         this.rightDrive = rightDrive;
-        this.navx = navx;
+        this.rightEncoder = rightEncoder;
+        this.gyro = gyro;
+        this.clock = clock;
+        this.odometry = new Odometry();
+        this.planner = new ProfilePlanner();
 
         setOrientation(0.0);
     }
 
     public void arcadeDrive(double forward, double rotation) {
-        drive.arcadeDrive(forward, rotation);
+        arcadeDrive(forward, rotation, true);
+    }
+
+    // Same mixing as WPILib's DifferentialDrive, which needs the HAL and so can't
+    // be built off the robot. Motor safety is enabled on the motors instead.
+    private void arcadeDrive(double forward, double rotation, boolean squareInputs) {
+        forward = applyDeadband(driveBounds.clamp(forward));
+        rotation = applyDeadband(driveBounds.clamp(rotation));
+        if (squareInputs) {
+            forward = Math.copySign(forward * forward, forward);
+            rotation = Math.copySign(rotation * rotation, rotation);
+        }
+
+        double maxInput = Math.copySign(Math.max(Math.abs(forward), Math.abs(rotation)), forward);
+        double left, right;
+        if ((forward >= 0.0) == (rotation >= 0.0)) {
+            left = maxInput;
+            right = forward - rotation;
+        } else {
+            left = forward + rotation;
+            right = maxInput;
+        }
+        setOutputs(left, right);
+    }
+
+    private void tankDrive(double left, double right) {
+        setOutputs(applyDeadband(driveBounds.clamp(left)), applyDeadband(driveBounds.clamp(right)));
+    }
+
+    // Setting the motors also feeds their motor safety, which stops them if this
+    // isn't called again before it expires
+    private void setOutputs(double left, double right) {
+        leftDrive.set(driveBounds.clamp(left));
+        // The right side faces the other way
+        rightDrive.set(-driveBounds.clamp(right));
+    }
+
+    private static double applyDeadband(double value) {
+        if (Math.abs(value) <= deadband) {
+            return 0.0;
+        }
+        return (value - Math.copySign(deadband, value)) / (1.0 - deadband);
     }
 
     public ProfileTask forwardTask(double meters) {
         double currentDistance = getTotalDistance();
-        StaticProfile profile = new StaticProfile(getVelocity(), currentDistance, currentDistance + meters, 0.5, 0.5,
-                1.0);
-        Gains gains = new Gains(0.5, 0.0, 0.0, 0.0, 0.0, 0.0);
+        double velocity = getVelocity();
+        Future<Profile> profile = planner.submit(() -> {
+            if (useSCurveProfiles) {
+                return new SCurveProfile(velocity, currentDistance, currentDistance + meters, 0.5, 0.5, 1.0, 4.0);
+            }
+            return new StaticProfile(velocity, currentDistance, currentDistance + meters, 0.5, 0.5, 1.0);
+        });
+        Gains gains = driveGains();
         Bounds outputBounds = new Bounds(-0.8, 0.8);
         PIDF pidController = new PIDF(gains, outputBounds);
-        double time = Timer.getFPGATimestamp();
+        double time = clock.getTime();
         return new ProfileTask(profile, pidController, time, ProfileTaskType.DRIVE);
     }
 
+    /**
+     * Drive through a sequence of waypoints, given in meters from the current
+     * position, without stopping at each one
+     */
+    public ProfileTask waypointTask(List<Waypoint> waypoints) {
+        double currentDistance = getTotalDistance();
+        List<Waypoint> absoluteWaypoints = new ArrayList<Waypoint>(waypoints.size());
+        for (Waypoint waypoint : waypoints) {
+            absoluteWaypoints.add(new Waypoint(currentDistance + waypoint.getPosition(), waypoint.getMaxSpeed()));
+        }
+        double velocity = getVelocity();
+        Future<Profile> profile = planner.submit(() -> {
+            return new WaypointProfile(velocity, currentDistance, absoluteWaypoints, 0.5, 0.5, 1.0);
+        });
+        Gains gains = driveGains();
+        Bounds outputBounds = new Bounds(-0.8, 0.8);
+        PIDF pidController = new PIDF(gains, outputBounds);
+        double time = clock.getTime();
+        return new ProfileTask(profile, pidController, time, ProfileTaskType.DRIVE);
+    }
+
+    /**
+     * Follow a smooth path through poses given relative to the robot, which is
+     * at (0, 0) facing along the x axis
+     */
+    public TrajectoryTask trajectoryTask(List<Pose> waypoints) {
+        TrajectoryConfig config = new TrajectoryConfig(1.0, 0.5, 0.5, trackWidth);
+        return new TrajectoryTask(planner.submit(() -> {
+            return new TrajectoryGenerator(config).generate(waypoints);
+        }));
+    }
+
+    /**
+     * Follow a trajectory generated ahead of time, such as one loaded from a file
+     * in robotInit
+     */
+    public TrajectoryTask trajectoryTask(Trajectory trajectory) {
+        return new TrajectoryTask(CompletableFuture.completedFuture(trajectory));
+    }
+
+    private static Gains driveGains() {
+        if (useDriveFeedforward) {
+            return new Gains(0.5, 0.0, 0.0, 0.0, wheelGains.kV(), wheelGains.kA());
+        }
+        return new Gains(0.5, 0.0, 0.0, 0.0, 0.0, 0.0);
+    }
+
     public ProfileTask rotateTask(double degrees) {
         double radians = Math.toRadians(degrees);
         double currentAngle = getOrientation();
-        StaticProfile profile = new StaticProfile(getVelocity(), currentAngle, currentAngle + radians, 1.5, 0.75, 1.0);
+        double velocity = getVelocity();
+        Future<Profile> profile = planner.submit(() -> {
+            if (useSCurveProfiles) {
+                return new SCurveProfile(velocity, currentAngle, currentAngle + radians, 1.5, 0.75, 1.0, 4.0);
+            }
+            return new StaticProfile(velocity, currentAngle, currentAngle + radians, 1.5, 0.75, 1.0);
+        });
         Gains gains = new Gains(0.85, 0.1, 0.1);
         Bounds outputBounds = new Bounds(-1.0, 1.0);
         PIDF pidController = new PIDF(gains, outputBounds);
-        double time = Timer.getFPGATimestamp();
+        double time = clock.getTime();
         return new ProfileTask(profile, pidController, time, ProfileTaskType.TURN);
     }
 
     public double getOrientation() {
-        return Math.toRadians(-navx.getAngle());
+        return Math.toRadians(-gyro.getAngle());
     }
 
     public double getVelocity() {
-        double revolutions = rightDrive.getSelectedSensorVelocity(0) / 4096.0;
+        double revolutions = rightEncoder.getVelocity() / 4096.0;
         double velocity = revolutions * 6 * Math.PI * 0.02540;
         return velocity;
     }
 
+    public double getLeftDistance() {
+        double revolutions = leftEncoder.getPosition() / 4096.0;
+        return revolutions * 6 * Math.PI * 0.02540;
+    }
+
+    public double getRightDistance() {
+        return getTotalDistance();
+    }
+
     public double getTotalDistance() {
-        double revolutions = rightDrive.getSelectedSensorPosition(0) / 4096.0;
+        double revolutions = rightEncoder.getPosition() / 4096.0;
         double distance = revolutions * 6 * Math.PI * 0.02540;
         return distance;
     }
 
     private void setOrientation(double orientation) {
-        navx.setAngleAdjustment(0.0);
-        navx.setAngleAdjustment(-navx.getAngle() - Math.toDegrees(orientation));
+        gyro.setAngle(-Math.toDegrees(orientation));
     }
 }
@@ -1,12 +1,12 @@
 package frc.robot.components;
 
-import edu.wpi.first.wpilibj.DoubleSolenoid;
-import edu.wpi.first.wpilibj.SpeedController;
+import frc.robot.hardware.Motor;
+import frc.robot.hardware.Piston;
 
 public class Intake {
-    private SpeedController leftMotor;
-    private SpeedController rightMotor;
-    private DoubleSolenoid solenoid;
+    private Motor leftMotor;
+    private Motor rightMotor;
+    private Piston piston;
 
     private enum Mode {
         INTAKE, IDLE, OUTTAKE
@@ -15,24 +15,24 @@ public class Intake {
     private Mode mode;
     private double outtakeSpeed;
 
-    public Intake(SpeedController leftMotor, SpeedController rightMotor, DoubleSolenoid solenoid) {
+    public Intake(Motor leftMotor, Motor rightMotor, Piston piston) {
         this.leftMotor = leftMotor;
         this.rightMotor = rightMotor;
-        this.solenoid = solenoid;
+        this.piston = piston;
     }
 
     public void update() {
         double speed = 0;
         if (mode == Mode.INTAKE) {
             speed = 0.7;
-            solenoid.set(DoubleSolenoid.Value.kForward);
+            piston.setExtended(true);
         } else if (mode == Mode.OUTTAKE) {
             speed = -outtakeSpeed;
             outtakeSpeed = 0.0;
-            solenoid.set(DoubleSolenoid.Value.kReverse);
+            piston.setExtended(false);
         } else {
             speed = 0.2;
-            solenoid.set(DoubleSolenoid.Value.kReverse);
+            piston.setExtended(false);
         }
 
         this.leftMotor.set(speed);
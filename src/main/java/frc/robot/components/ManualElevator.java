@@ -1,24 +1,25 @@
 package frc.robot.components;
 
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import edu.wpi.first.wpilibj.DigitalInput;
+import frc.robot.hardware.Encoder;
+import frc.robot.hardware.LimitSwitch;
+import frc.robot.hardware.Motor;
 import frc.robot.utils.Bounds;
 
 public class ManualElevator {
-    private WPI_TalonSRX winch;
-    private DigitalInput bottomLimit;
+    private Motor winch;
+    private Encoder encoder;
+    private LimitSwitch bottomLimit;
 
     private Bounds speedBounds;
 
     private double speed;
     private final double gravityCompensation;
 
-    public ManualElevator(WPI_TalonSRX winch, DigitalInput bottomLimit) {
+    public ManualElevator(Motor winch, Encoder encoder, LimitSwitch bottomLimit) {
         this.winch = winch;
+        this.encoder = encoder;
         this.bottomLimit = bottomLimit;
         this.speed = 0;
-        winch.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
 
         speedBounds = new Bounds(-0.3, 0.6);
         gravityCompensation = 0.4;
@@ -28,8 +29,9 @@ public class ManualElevator {
         this.speed = speedBounds.clamp(speed) + gravityCompensation;
     }
 
+    // Whole revolutions, truncated as the soft limits were set with
     public double getPosition() {
-        return winch.getSelectedSensorPosition(0) / -4096;
+        return (int) encoder.getPosition() / -4096;
     }
 
     public void update() {
@@ -42,7 +44,7 @@ public class ManualElevator {
         winch.set(-speed);
 
         if (bottomLimit.get()) {
-            winch.setSelectedSensorPosition(0, 0, 0);
+            encoder.setPosition(0);
         }
 
         speed = 0;
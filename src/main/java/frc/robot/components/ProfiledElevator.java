@@ -1,21 +1,37 @@
 package frc.robot.components;
 
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import edu.wpi.first.wpilibj.DigitalInput;
-import edu.wpi.first.wpilibj.Timer;
+import frc.robot.hardware.Encoder;
+import frc.robot.hardware.LimitSwitch;
+import frc.robot.hardware.Motor;
+import frc.robot.motion.OnlineProfileGenerator;
+import frc.robot.motion.ProfileCache;
+import frc.robot.motion.ProfileLimits;
+import frc.robot.motion.ProfileState;
 import frc.robot.motion.StaticProfile;
 import frc.robot.pidf.Gains;
 import frc.robot.pidf.PIDF;
 import frc.robot.utils.Bounds;
+import frc.robot.utils.Clock;
 
 public class ProfiledElevator {
-    private WPI_TalonSRX winch;
-    private DigitalInput bottomLimit;
+    private Motor winch;
+    private Encoder encoder;
+    private LimitSwitch bottomLimit;
+    private final Clock clock;
 
     private Target target;
-    private double speed, profileStartTime;
+    private double speed, profileStartTime, previousTime;
     private StaticProfile profile;
+    private final ProfileState setpoint;
+    // Takes over from the profile when the target changes mid-motion
+    private final OnlineProfileGenerator generator;
+    private boolean retargeted;
+    // Setpoint is being supplied from outside instead of planned here
+    private boolean external;
+    private final double maxVelocity, maxAccel, maxDecel;
+    private final ProfileLimits limits;
+    // Moves almost always start at rest on one of the presets
+    private final ProfileCache profileCache;
     private PIDF pidController;
     private final double gravityCompensation;
 
@@ -28,56 +44,110 @@ public class ProfiledElevator {
             this.value = value;
         }
 
-        private double value() {
+        double value() {
             return value;
         }
     }
 
-    public ProfiledElevator(WPI_TalonSRX winch, DigitalInput bottomLimit) {
+    public ProfiledElevator(Motor winch, Encoder encoder, LimitSwitch bottomLimit, Clock clock) {
         this.winch = winch;
+        this.encoder = encoder;
         this.bottomLimit = bottomLimit;
+        this.clock = clock;
         target = Target.BOTTOM;
         speed = 0.0;
-        profileStartTime = Timer.getFPGATimestamp();
-
-        winch.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
+        profileStartTime = clock.getTime();
+        previousTime = profileStartTime;
 
         gravityCompensation = 0.1;
-        profile = new StaticProfile(0.0, 0.0, 0.0, 3.0, 1.0, 1.0);
+        maxVelocity = 3.0;
+        maxAccel = 1.0;
+        maxDecel = 1.0;
+        limits = new ProfileLimits(maxVelocity, maxAccel, maxDecel);
+        profileCache = new ProfileCache(16, 0.01, 0.05);
+        profile = new StaticProfile(0.0, 0.0, 0.0, maxVelocity, maxAccel, maxDecel);
+        setpoint = new ProfileState();
+        generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        retargeted = false;
+        external = false;
 
         Gains pidGains = new Gains(0.75, 0.0, 0.0, 0.0, 0.0, 0.0);
         Bounds outputBounds = new Bounds(-1.0, 1.0);
         pidController = new PIDF(pidGains, outputBounds);
     }
 
+    // Whole revolutions, as the elevator was tuned with
     public double getPosition() {
-        return winch.getSelectedSensorPosition(0) / -4096;
+        return (int) encoder.getPosition() / -4096;
     }
 
     private double getVelocity() {
-        return winch.getSelectedSensorVelocity(0) / -4096;
+        return (int) encoder.getVelocity() / -4096;
     }
 
     public void setTarget(Target newTarget) {
-        if (target == newTarget) {
+        if (target == newTarget && !external) {
             return;
         }
         target = newTarget;
-        profile = new StaticProfile(getVelocity(), getPosition(), target.value(), 3.0, 1.0, 1.0);
-        profileStartTime = Timer.getFPGATimestamp();
+
+        // Continue from wherever the external setpoint left off
+        if (external) {
+            external = false;
+            retargeted = true;
+            return;
+        }
+
+        // Still moving - continue from the current setpoint towards the new target
+        // rather than replanning, so the setpoint stays continuous and the PIDF state
+        // stays valid
+        final double time = clock.getTime();
+        if (retargeted || time - profileStartTime < profile.getDuration()) {
+            retargeted = true;
+            return;
+        }
+
+        // Start from the last commanded setpoint without rounding, so the setpoint
+        // doesn't step. At rest on a preset this is still a cache hit.
+        profile = profileCache.getExact(setpoint.getVelocity(), setpoint.getPosition(), target.value(), limits);
+        profileStartTime = time;
         pidController.initialize(getVelocity(), profileStartTime, speed);
     }
 
+    /**
+     * Follow a setpoint planned elsewhere, until the next call to setTarget
+     */
+    public void setSetpoint(double position, double velocity, double acceleration) {
+        external = true;
+        retargeted = false;
+        setpoint.set(position, velocity, acceleration);
+    }
+
+    public ProfileState getSetpoint() {
+        return setpoint;
+    }
+
     public void update() {
-        final double currentTarget = profile.getPosition(Timer.getFPGATimestamp() - profileStartTime);
-        final double targetVelocity = profile.getVelocity(Timer.getFPGATimestamp() - profileStartTime);
-        speed = pidController.calculateOutput(getPosition(), currentTarget, targetVelocity, 0.0,
-                Timer.getFPGATimestamp());
+        final double time = clock.getTime();
+        if (retargeted) {
+            generator.calculate(setpoint, target.value(), time - previousTime, setpoint);
+            // Once settled, later moves can start from a fresh profile again
+            if (setpoint.getPosition() == target.value() && setpoint.getVelocity() == 0.0) {
+                retargeted = false;
+                profile = new StaticProfile(0.0, target.value(), target.value(), maxVelocity, maxAccel, maxDecel);
+            }
+        } else if (!external) {
+            profile.sample(time - profileStartTime, setpoint);
+        }
+        previousTime = time;
+
+        speed = pidController.calculateOutput(getPosition(), setpoint.getPosition(), setpoint.getVelocity(), 0.0,
+                time);
 
         winch.set(speed + gravityCompensation);
 
         if (bottomLimit.get()) {
-            winch.setSelectedSensorPosition(0, 0, 0);
+            encoder.setPosition(0);
         }
     }
 }
\ No newline at end of file
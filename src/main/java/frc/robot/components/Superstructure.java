@@ -0,0 +1,131 @@
+package frc.robot.components;
+
+import java.util.concurrent.Future;
+
+import frc.robot.motion.MultiAxisProfile;
+import frc.robot.motion.ProfileLimits;
+import frc.robot.motion.ProfilePlanner;
+import frc.robot.motion.ProfileState;
+import frc.robot.utils.Clock;
+
+/**
+ * Moves the elevator and wrist together, so both arrive at the same time
+ * without the wrist sticking out while the elevator is high. Updates the
+ * elevator, but only sets the wrist's setpoint - the wrist has to be
+ * registered with the LoopScheduler.
+ */
+public class Superstructure {
+    private static final int elevatorAxis = 0, wristAxis = 1;
+
+    // Above this height the wrist has to be folded up past the clearance angle
+    private static final double maxHeightWristDown = 6.0;
+    private static final double wristClearance = 1000.0;
+
+    private static final ProfileLimits elevatorLimits = new ProfileLimits(3.0, 1.0, 1.0);
+    private static final ProfileLimits wristLimits = new ProfileLimits(2000.0, 4000.0, 4000.0);
+    private static final ProfileLimits[] limits = { elevatorLimits, wristLimits };
+
+    private static final MultiAxisProfile.Constraint clearance = (double[] positions) -> {
+        return positions[elevatorAxis] <= maxHeightWristDown || positions[wristAxis] >= wristClearance;
+    };
+
+    public enum Target {
+        INTAKE(ProfiledElevator.Target.BOTTOM, Wrist.Target.DOWN),
+        STOW(ProfiledElevator.Target.BOTTOM, Wrist.Target.UP),
+        SWITCH(ProfiledElevator.Target.SWITCH, Wrist.Target.DOWN),
+        SCALE(ProfiledElevator.Target.SCALE, Wrist.Target.UP);
+
+        private final ProfiledElevator.Target elevator;
+        private final Wrist.Target wrist;
+
+        Target(ProfiledElevator.Target elevator, Wrist.Target wrist) {
+            this.elevator = elevator;
+            this.wrist = wrist;
+        }
+    }
+
+    private ProfiledElevator elevator;
+    private Wrist wrist;
+    private final Clock clock;
+
+    private MultiAxisProfile profile;
+    // Move being planned in the background, null when there is none
+    private Future<MultiAxisProfile> plannedProfile;
+    private double profileStartTime;
+    private final ProfileState setpoint;
+    // Requested while still moving, started once the current move finishes
+    private Target pendingTarget;
+    // Searching for a safe move takes too long for the main loop
+    private final ProfilePlanner planner;
+
+    public Superstructure(ProfiledElevator elevator, Wrist wrist, Clock clock) {
+        this.elevator = elevator;
+        this.wrist = wrist;
+        this.clock = clock;
+        this.setpoint = new ProfileState();
+        this.planner = new ProfilePlanner();
+    }
+
+    public void setTarget(Target target) {
+        if (plannedProfile != null || isMoving(clock.getTime())) {
+            pendingTarget = target;
+            return;
+        }
+        start(target);
+    }
+
+    private boolean isMoving(double time) {
+        return profile != null && time - profileStartTime < profile.getDuration();
+    }
+
+    private void start(Target target) {
+        final double[] currentPositions = { elevator.getSetpoint().getPosition(), wrist.getSetpoint() };
+        final double[] targets = { target.elevator.value(), target.wrist.value() };
+        pendingTarget = null;
+        if (!clearance.isAllowed(currentPositions)) {
+            // Already inside the obstacle, so no move can avoid it. Fold the wrist up
+            // with the elevator held, then go to the target once clear.
+            targets[elevatorAxis] = currentPositions[elevatorAxis];
+            targets[wristAxis] = Math.max(currentPositions[wristAxis], Wrist.Target.UP.value());
+            pendingTarget = target;
+        }
+        plannedProfile = planner.submit(() -> {
+            return plan(currentPositions, targets);
+        });
+    }
+
+    private static MultiAxisProfile plan(double[] currentPositions, double[] targets) {
+        try {
+            return new MultiAxisProfile(currentPositions, targets, limits, clearance);
+        } catch (IllegalArgumentException e) {
+            // Reject the target and hold, rather than stop the robot code
+            System.out.println("No safe superstructure move: " + e.getMessage());
+            return new MultiAxisProfile(currentPositions, currentPositions, limits);
+        }
+    }
+
+    public void update() {
+        final double time = clock.getTime();
+        if (plannedProfile != null) {
+            MultiAxisProfile planned = ProfilePlanner.getIfDone(plannedProfile);
+            if (planned != null) {
+                profile = planned;
+                profileStartTime = time;
+                plannedProfile = null;
+            }
+        }
+        if (profile != null) {
+            if (pendingTarget != null && plannedProfile == null && !isMoving(time)) {
+                start(pendingTarget);
+            }
+
+            profile.sample(elevatorAxis, time - profileStartTime, setpoint);
+            elevator.setSetpoint(setpoint.getPosition(), setpoint.getVelocity(), setpoint.getAcceleration());
+            wrist.setSetpoint(profile.getPosition(wristAxis, time - profileStartTime));
+        }
+
+        // The wrist runs its own control loop, it only reads the setpoint published
+        // above through a volatile field
+        elevator.update();
+    }
+}
@@ -1,18 +1,18 @@
 package frc.robot.components;
 
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-
+import frc.robot.hardware.Encoder;
+import frc.robot.hardware.Motor;
+import frc.robot.pidf.GainSchedule;
 import frc.robot.pidf.Gains;
-import frc.robot.pidf.PIDF;
+import frc.robot.pidf.ScheduledPIDF;
 import frc.robot.utils.Bounds;
 
-import edu.wpi.first.wpilibj.Timer;
-
 public class Wrist {
-    private WPI_TalonSRX motor;
-    private PIDF pidf;
-    private Target target;
+    private Motor motor;
+    private Encoder encoder;
+    private ScheduledPIDF pidf;
+    // Set by the main thread, read by the wrist's control loop
+    private volatile double setpoint;
 
     public enum Target {
         DOWN(2), UP(1400), START(2860);
@@ -23,40 +23,62 @@ public class Wrist {
             this.value = value;
         }
 
-        private int value() {
+        int value() {
             return value;
         }
     }
 
-    public Wrist(WPI_TalonSRX motor) {
+    public Wrist(Motor motor, Encoder encoder) {
         this.motor = motor;
+        this.encoder = encoder;
 
-        this.motor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
-        this.motor.setSelectedSensorPosition(Target.DOWN.value(), 0, 0);
+        this.encoder.setPosition(Target.DOWN.value());
 
-        target = Target.START;
+        setpoint = Target.START.value();
 
-        pidf = new PIDF(new Gains(0.0007, 0.000005, 0.00004), new Bounds(-1, 1));
+        // Scheduled on wrist position, since gravity torque changes through the range.
+        // Every breakpoint starts from the old fixed gains and is tuned separately.
+        double[] breakpoints = { Target.DOWN.value(), Target.UP.value(), Target.START.value() };
+        Gains[] gains = { new Gains(0.0007, 0.000005, 0.00004), new Gains(0.0007, 0.000005, 0.00004),
+                new Gains(0.0007, 0.000005, 0.00004) };
+        pidf = new ScheduledPIDF(new GainSchedule(breakpoints, gains), new Bounds(-1, 1));
     }
 
     public void resetTop() {
-        motor.setSelectedSensorPosition(Target.START.value(), 0, 0);
+        encoder.setPosition(Target.START.value());
     }
 
     public void resetDown() {
-        motor.setSelectedSensorPosition(Target.DOWN.value(), 0, 0);
+        encoder.setPosition(Target.DOWN.value());
     }
 
-    private double getPosition() {
-        return motor.getSelectedSensorPosition(0);
+    public double getPosition() {
+        return encoder.getPosition();
     }
 
     public void setTarget(Target target) {
-        this.target = target;
+        this.setpoint = target.value();
+    }
+
+    /**
+     * Hold the wrist at any position in encoder ticks, for motion planned
+     * elsewhere
+     */
+    public void setSetpoint(double position) {
+        this.setpoint = position;
+    }
+
+    public double getSetpoint() {
+        return setpoint;
     }
 
-    public void update() {
-        double speed = pidf.calculateOutput(getPosition(), target.value(), Timer.getFPGATimestamp());
+    /**
+     * Run the controller, time is in seconds from whichever clock is driving the
+     * wrist's loop
+     */
+    public void update(double time) {
+        double position = getPosition();
+        double speed = pidf.calculateOutput(position, position, setpoint, time);
 
         motor.set(-speed);
     }
@@ -0,0 +1,15 @@
+package frc.robot.hardware;
+
+import edu.wpi.first.wpilibj.DigitalInput;
+
+public class DigitalLimitSwitch implements LimitSwitch {
+    private final DigitalInput input;
+
+    public DigitalLimitSwitch(DigitalInput input) {
+        this.input = input;
+    }
+
+    public boolean get() {
+        return input.get();
+    }
+}
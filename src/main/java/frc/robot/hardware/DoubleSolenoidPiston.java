@@ -0,0 +1,15 @@
+package frc.robot.hardware;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+
+public class DoubleSolenoidPiston implements Piston {
+    private final DoubleSolenoid solenoid;
+
+    public DoubleSolenoidPiston(DoubleSolenoid solenoid) {
+        this.solenoid = solenoid;
+    }
+
+    public void setExtended(boolean extended) {
+        solenoid.set(extended ? DoubleSolenoid.Value.kForward : DoubleSolenoid.Value.kReverse);
+    }
+}
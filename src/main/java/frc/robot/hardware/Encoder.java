@@ -0,0 +1,19 @@
+package frc.robot.hardware;
+
+/**
+ * Encoder reporting in its native counts, 4096 per revolution for the CTRE
+ * Mag Encoder
+ */
+public interface Encoder {
+    double getPosition();
+
+    /**
+     * Counts per 100 ms, the unit Talons report velocity in
+     */
+    double getVelocity();
+
+    /**
+     * Make the current position read as counts
+     */
+    void setPosition(double counts);
+}
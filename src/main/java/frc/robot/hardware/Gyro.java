@@ -0,0 +1,13 @@
+package frc.robot.hardware;
+
+/**
+ * Heading sensor reporting in degrees, increasing clockwise like the navX
+ */
+public interface Gyro {
+    double getAngle();
+
+    /**
+     * Make the current heading read as degrees
+     */
+    void setAngle(double degrees);
+}
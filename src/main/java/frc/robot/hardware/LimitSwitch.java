@@ -0,0 +1,5 @@
+package frc.robot.hardware;
+
+public interface LimitSwitch {
+    boolean get();
+}
@@ -0,0 +1,49 @@
+package frc.robot.hardware;
+
+/**
+ * Stands in for the CAN bus under mock motors. Counts every call a component
+ * makes to a motor controller and reports the latency those calls would add on
+ * the robot, optionally spinning for that long so benchmarks include it.
+ */
+public class MockCanBus {
+    private final double callLatency;
+    private final boolean spin;
+    private long callCount;
+
+    /**
+     * Latency in seconds per call, roughly the cost of one Phoenix call through
+     * JNI on the roboRIO
+     */
+    public MockCanBus(double callLatency, boolean spin) {
+        if (callLatency < 0.0) {
+            throw new IllegalArgumentException("Latency can't be negative");
+        }
+        this.callLatency = callLatency;
+        this.spin = spin;
+    }
+
+    void call() {
+        callCount++;
+        if (spin && callLatency > 0.0) {
+            final long end = System.nanoTime() + (long) (callLatency * 1e9);
+            // Busy wait, sleeping is far coarser than a single call
+            while (System.nanoTime() < end) {
+            }
+        }
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * Total time in seconds every call so far would have taken on the robot
+     */
+    public double getSimulatedLatency() {
+        return callCount * callLatency;
+    }
+
+    public void reset() {
+        callCount = 0;
+    }
+}
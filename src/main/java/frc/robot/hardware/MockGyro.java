@@ -0,0 +1,13 @@
+package frc.robot.hardware;
+
+public class MockGyro implements Gyro {
+    private double angle;
+
+    public double getAngle() {
+        return angle;
+    }
+
+    public void setAngle(double degrees) {
+        angle = degrees;
+    }
+}
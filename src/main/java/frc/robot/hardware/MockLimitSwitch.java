@@ -0,0 +1,13 @@
+package frc.robot.hardware;
+
+public class MockLimitSwitch implements LimitSwitch {
+    private boolean pressed;
+
+    public boolean get() {
+        return pressed;
+    }
+
+    public void set(boolean pressed) {
+        this.pressed = pressed;
+    }
+}
@@ -0,0 +1,122 @@
+package frc.robot.hardware;
+
+import frc.robot.utils.Clock;
+
+/**
+ * In memory motor controller with an encoder, which records the commands sent
+ * to it. Sensor values are set by the test or simulation driving it.
+ */
+public class MockMotor implements Motor, Encoder {
+    private final MockCanBus bus;
+    private double output;
+    private double position, velocity;
+
+    // Most recent commands, oldest overwritten first
+    private final double[] commands;
+    private long commandCount;
+
+    // Motor safety, off unless enabled
+    private Clock safetyClock;
+    private double expiration, lastFedTime;
+
+    public MockMotor(MockCanBus bus) {
+        this(bus, 64);
+    }
+
+    public MockMotor(MockCanBus bus, int historySize) {
+        if (historySize <= 0) {
+            throw new IllegalArgumentException("History needs room for at least one command");
+        }
+        this.bus = bus;
+        this.commands = new double[historySize];
+    }
+
+    /**
+     * Stop the motor, as the roboRIO's motor safety would, once clock passes
+     * expiration seconds after the last set
+     */
+    public void enableSafety(double expiration, Clock clock) {
+        if (!(expiration > 0.0)) {
+            throw new IllegalArgumentException("Expiration must be positive");
+        }
+        this.expiration = expiration;
+        this.safetyClock = clock;
+        this.lastFedTime = clock.getTime();
+    }
+
+    public void set(double output) {
+        bus.call();
+        if (safetyClock != null) {
+            lastFedTime = safetyClock.getTime();
+        }
+        record(output);
+    }
+
+    private void record(double output) {
+        this.output = output;
+        commands[(int) (commandCount % commands.length)] = output;
+        commandCount++;
+    }
+
+    // Stopping is recorded as a command of 0, like stopMotor on the robot
+    private void checkSafety() {
+        if (safetyClock != null && output != 0.0 && safetyClock.getTime() - lastFedTime > expiration) {
+            record(0.0);
+        }
+    }
+
+    public double get() {
+        bus.call();
+        checkSafety();
+        return output;
+    }
+
+    public double getPosition() {
+        bus.call();
+        return position;
+    }
+
+    public double getVelocity() {
+        bus.call();
+        return velocity;
+    }
+
+    public void setPosition(double counts) {
+        bus.call();
+        position = counts;
+    }
+
+    /**
+     * Last output commanded, without counting as a call on the bus
+     */
+    public double getOutput() {
+        checkSafety();
+        return output;
+    }
+
+    public long getCommandCount() {
+        checkSafety();
+        return commandCount;
+    }
+
+    /**
+     * Recorded commands from oldest to newest
+     */
+    public double[] getCommands() {
+        checkSafety();
+        final int count = (int) Math.min(commandCount, commands.length);
+        final double[] recent = new double[count];
+        for (int i = 0; i < count; i++) {
+            recent[i] = commands[(int) ((commandCount - count + i) % commands.length)];
+        }
+        return recent;
+    }
+
+    /**
+     * Set what the encoder reports, in counts and counts per 100 ms
+     */
+    public void setSensor(double position, double velocity) {
+        this.position = position;
+        this.velocity = velocity;
+    }
+}
@@ -0,0 +1,13 @@
+package frc.robot.hardware;
+
+public class MockPiston implements Piston {
+    private boolean extended;
+
+    public void setExtended(boolean extended) {
+        this.extended = extended;
+    }
+
+    public boolean isExtended() {
+        return extended;
+    }
+}
@@ -0,0 +1,14 @@
+package frc.robot.hardware;
+
+/**
+ * Motor controller driven by percent output
+ */
+public interface Motor {
+    /**
+     * Output from -1 to 1, also feeds the motor safety watchdog if the motor has
+     * one enabled
+     */
+    void set(double output);
+
+    double get();
+}
@@ -0,0 +1,20 @@
+package frc.robot.hardware;
+
+import com.kauailabs.navx.frc.AHRS;
+
+public class NavXGyro implements Gyro {
+    private final AHRS navx;
+
+    public NavXGyro(AHRS navx) {
+        this.navx = navx;
+    }
+
+    public double getAngle() {
+        return navx.getAngle();
+    }
+
+    public void setAngle(double degrees) {
+        navx.setAngleAdjustment(0.0);
+        navx.setAngleAdjustment(degrees - navx.getAngle());
+    }
+}
@@ -0,0 +1,8 @@
+package frc.robot.hardware;
+
+/**
+ * Pneumatic cylinder that is either extended or retracted
+ */
+public interface Piston {
+    void setExtended(boolean extended);
+}
@@ -0,0 +1,22 @@
+package frc.robot.hardware;
+
+import edu.wpi.first.wpilibj.SpeedController;
+
+/**
+ * Any WPILib motor controller without a sensor, such as a Victor SPX
+ */
+public class SpeedControllerMotor implements Motor {
+    private final SpeedController controller;
+
+    public SpeedControllerMotor(SpeedController controller) {
+        this.controller = controller;
+    }
+
+    public void set(double output) {
+        controller.set(output);
+    }
+
+    public double get() {
+        return controller.get();
+    }
+}
@@ -0,0 +1,45 @@
+package frc.robot.hardware;
+
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+
+/**
+ * Talon SRX with a CTRE Mag Encoder plugged into it
+ */
+public class TalonSRXMotor implements Motor, Encoder {
+    private final WPI_TalonSRX talon;
+
+    public TalonSRXMotor(WPI_TalonSRX talon) {
+        this.talon = talon;
+        talon.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute, 0, 30);
+    }
+
+    /**
+     * Stop the motor if it isn't set again within expiration seconds, as
+     * DifferentialDrive does for the motors it drives
+     */
+    public void enableSafety(double expiration) {
+        talon.setExpiration(expiration);
+        talon.setSafetyEnabled(true);
+    }
+
+    public void set(double output) {
+        talon.set(output);
+    }
+
+    public double get() {
+        return talon.get();
+    }
+
+    public double getPosition() {
+        return talon.getSelectedSensorPosition(0);
+    }
+
+    public double getVelocity() {
+        return talon.getSelectedSensorVelocity(0);
+    }
+
+    public void setPosition(double counts) {
+        talon.setSelectedSensorPosition((int) counts, 0, 0);
+    }
+}
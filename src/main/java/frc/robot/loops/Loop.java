@@ -0,0 +1,11 @@
+package frc.robot.loops;
+
+/**
+ * Control code run periodically by a LoopScheduler on its own thread
+ */
+public interface Loop {
+    /**
+     * Called every period with the current FPGA time in seconds
+     */
+    void update(double time);
+}
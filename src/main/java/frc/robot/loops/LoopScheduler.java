@@ -0,0 +1,93 @@
+package frc.robot.loops;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Runs loops at their own rates on Notifier threads, separate from the
+ * TimedRobot period. Loops share nothing with the main thread except through
+ * volatile fields.
+ */
+public class LoopScheduler {
+    private static class ScheduledLoop implements Runnable {
+        private final Loop loop;
+        private final LoopStats stats;
+        private final Notifier notifier;
+
+        private ScheduledLoop(String name, Loop loop, double period) {
+            this.loop = loop;
+            this.stats = new LoopStats(name, period);
+            this.notifier = new Notifier(this);
+        }
+
+        public void run() {
+            double start = Timer.getFPGATimestamp();
+            loop.update(start);
+            stats.record(start, Timer.getFPGATimestamp());
+        }
+    }
+
+    private final List<ScheduledLoop> loops;
+    private boolean running;
+
+    public LoopScheduler() {
+        this.loops = new ArrayList<ScheduledLoop>();
+        this.running = false;
+    }
+
+    /**
+     * Add a loop to run every period seconds once started
+     */
+    public LoopStats register(String name, Loop loop, double period) {
+        if (!(period > 0.0)) {
+            throw new IllegalArgumentException("Loop period must be positive");
+        }
+        if (running) {
+            throw new IllegalStateException("Can't register loops while running");
+        }
+        ScheduledLoop scheduled = new ScheduledLoop(name, loop, period);
+        loops.add(scheduled);
+        return scheduled.stats;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        for (ScheduledLoop scheduled : loops) {
+            scheduled.stats.reset();
+            scheduled.notifier.startPeriodic(scheduled.stats.getPeriod());
+        }
+        running = true;
+    }
+
+    /**
+     * Stop every loop, such as when another mode drives the motors directly
+     */
+    public void stop() {
+        for (ScheduledLoop scheduled : loops) {
+            scheduled.notifier.stop();
+        }
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void putStats() {
+        for (ScheduledLoop scheduled : loops) {
+            LoopStats stats = scheduled.stats;
+            String name = stats.getName();
+            SmartDashboard.putNumber(name + " loop count", stats.getCount());
+            SmartDashboard.putNumber(name + " loop overruns", stats.getOverruns());
+            SmartDashboard.putNumber(name + " loop average (s)", stats.getAverageDuration());
+            SmartDashboard.putNumber(name + " loop max (s)", stats.getMaxDuration());
+            SmartDashboard.putNumber(name + " loop max jitter (s)", stats.getMaxJitter());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package frc.robot.loops;
+
+/**
+ * Timing of a scheduled loop. Written only by the loop's thread, and safe to
+ * read from any other.
+ */
+public class LoopStats {
+    private final String name;
+    private final double period;
+
+    private volatile long count;
+    // Updates that took longer than the period
+    private volatile long overruns;
+    private volatile double totalDuration, maxDuration;
+    // Furthest the time between starts has been from the period
+    private volatile double maxJitter;
+    private volatile double previousStart;
+
+    LoopStats(String name, double period) {
+        this.name = name;
+        this.period = period;
+        this.previousStart = Double.NaN;
+    }
+
+    void record(double start, double end) {
+        final double duration = end - start;
+        if (!Double.isNaN(previousStart)) {
+            maxJitter = Math.max(maxJitter, Math.abs(start - previousStart - period));
+        }
+        previousStart = start;
+
+        totalDuration += duration;
+        maxDuration = Math.max(maxDuration, duration);
+        if (duration > period) {
+            overruns++;
+        }
+        count++;
+    }
+
+    void reset() {
+        count = 0;
+        overruns = 0;
+        totalDuration = 0.0;
+        maxDuration = 0.0;
+        maxJitter = 0.0;
+        previousStart = Double.NaN;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public double getAverageDuration() {
+        final long count = this.count;
+        return (count > 0) ? totalDuration / count : 0.0;
+    }
+
+    public double getMaxDuration() {
+        return maxDuration;
+    }
+
+    public double getMaxJitter() {
+        return maxJitter;
+    }
+}
@@ -0,0 +1,71 @@
+package frc.robot.motion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import frc.robot.utils.SampleFile;
+
+/**
+ * Profile sampled at a fixed step and stored in a sample file, so it can be
+ * generated offline and memory mapped at startup. Samples are interpolated the
+ * same way as a baked StaticProfile.
+ */
+public class MappedProfile implements Profile {
+    // "PMPF"
+    private static final int magic = 0x504d5046;
+    private static final int limitCount = 5, columnCount = 3;
+
+    private final SampledTable table;
+    private final ProfileLimits limits;
+    private final double duration;
+
+    private MappedProfile(SampleFile file) {
+        limits = new ProfileLimits(file.getLimit(0), file.getLimit(1), file.getLimit(2));
+        duration = file.getLimit(4);
+        table = SampledTable.fromBuffers(file.getColumn(0), file.getColumn(1), file.getColumn(2), file.getLimit(3),
+                duration);
+    }
+
+    public static MappedProfile load(Path path) throws IOException {
+        final SampleFile file = SampleFile.map(path, magic, limitCount, columnCount);
+        if (!(file.getLimit(3) > 0.0) || file.getSampleCount() < 1) {
+            throw new IOException("Invalid profile file " + path);
+        }
+        return new MappedProfile(file);
+    }
+
+    /**
+     * Sample profile every sampleStep seconds and write it to path, along with
+     * the limits it was generated with
+     */
+    public static void write(Profile profile, ProfileLimits limits, double sampleStep, Path path) throws IOException {
+        final double[][] columns = SampledTable.sampleColumns(profile, sampleStep);
+        final double[] header = { limits.getMaxVelocity(), limits.getMaxAccel(), limits.getMaxDecel(), sampleStep,
+                profile.getDuration() };
+        SampleFile.write(path, magic, header, columns);
+    }
+
+    public ProfileLimits getLimits() {
+        return limits;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    public double getPosition(double time) {
+        return table.getPosition(time);
+    }
+
+    public double getVelocity(double time) {
+        return table.getVelocity(time);
+    }
+
+    public double getAcceleration(double time) {
+        return table.getAcceleration(time);
+    }
+
+    public void sample(double time, ProfileState out) {
+        table.sample(time, out);
+    }
+}
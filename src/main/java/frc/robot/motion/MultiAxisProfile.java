@@ -0,0 +1,160 @@
+package frc.robot.motion;
+
+/**
+ * Moves several axes from rest to their targets so they all finish together -
+ * the axis that takes longest sets the duration, and every other axis runs its
+ * trapezoidal profile time-scaled to match. An optional constraint rejects
+ * combinations of positions where mechanisms would collide, in which case one
+ * axis is held back until the others are clear.
+ */
+public class MultiAxisProfile {
+    /**
+     * Positions the axes may safely occupy at the same time. Only checked every
+     * 10ms along the motion, so leave some margin around real obstacles.
+     */
+    public interface Constraint {
+        boolean isAllowed(double[] positions);
+    }
+
+    // Spacing of the points checked against the constraint
+    private static final double checkStep = 0.01;
+    // Step for the start delay search, made coarser on long moves so no axis
+    // tries more than maxDelaySteps delays
+    private static final double minDelayStep = 0.02;
+    private static final int maxDelaySteps = 100;
+
+    private final StaticProfile[] profiles;
+    private final double[] startDelays;
+    private final double duration;
+
+    public MultiAxisProfile(double[] currentPositions, double[] targets, ProfileLimits[] limits) {
+        this(currentPositions, targets, limits, null);
+    }
+
+    public MultiAxisProfile(double[] currentPositions, double[] targets, ProfileLimits[] limits,
+            Constraint constraint) {
+        final int axes = currentPositions.length;
+        if (targets.length != axes || limits.length != axes) {
+            throw new IllegalArgumentException("Need a target and limits for every axis");
+        }
+
+        // Time each axis takes on its own at full speed
+        final double[] minimumDurations = new double[axes];
+        double longest = 0.0;
+        for (int i = 0; i < axes; i++) {
+            minimumDurations[i] = createProfile(currentPositions[i], targets[i], limits[i], 1.0).getDuration();
+            longest = Math.max(longest, minimumDurations[i]);
+        }
+
+        profiles = new StaticProfile[axes];
+        startDelays = new double[axes];
+        plan(currentPositions, targets, limits, minimumDurations, longest, -1, 0.0);
+        if (constraint == null || isAllowed(constraint, longest)) {
+            duration = longest;
+            return;
+        }
+
+        // Hold back one axis at a time for increasing delays, keeping the fastest
+        // plan that never violates the constraint. The other axes keep their
+        // timing, so when the delayed axis can't catch up they finish first.
+        double bestDuration = Double.POSITIVE_INFINITY;
+        int bestAxis = -1;
+        double bestDelay = 0.0;
+        final double delayStep = Math.max(minDelayStep, longest / maxDelaySteps);
+        for (int axis = 0; axis < axes; axis++) {
+            if (minimumDurations[axis] == 0.0) {
+                continue;
+            }
+            // Past the end of every other axis the moves are fully sequential
+            final int maxSteps = (int) Math.ceil(longest / delayStep);
+            for (int step = 1; step <= maxSteps; step++) {
+                final double delay = Math.min(step * delayStep, longest);
+                final double total = Math.max(longest, delay + minimumDurations[axis]);
+                if (total >= bestDuration) {
+                    break;
+                }
+                plan(currentPositions, targets, limits, minimumDurations, longest, axis, delay);
+                if (isAllowed(constraint, total)) {
+                    bestDuration = total;
+                    bestAxis = axis;
+                    bestDelay = delay;
+                    break;
+                }
+            }
+        }
+        if (bestAxis == -1) {
+            throw new IllegalArgumentException("No move between these positions satisfies the constraint");
+        }
+
+        plan(currentPositions, targets, limits, minimumDurations, longest, bestAxis, bestDelay);
+        duration = bestDuration;
+    }
+
+    // Build each axis profile to finish at end, except delayedAxis (if any) which
+    // starts delay seconds late and finishes at end or as soon after as it can
+    private void plan(double[] currentPositions, double[] targets, ProfileLimits[] limits,
+            double[] minimumDurations, double end, int delayedAxis, double delay) {
+        for (int i = 0; i < profiles.length; i++) {
+            startDelays[i] = (i == delayedAxis) ? delay : 0.0;
+            final double available = Math.max(end - startDelays[i], minimumDurations[i]);
+            final double scale = (minimumDurations[i] > 0.0) ? minimumDurations[i] / available : 1.0;
+            profiles[i] = createProfile(currentPositions[i], targets[i], limits[i], scale);
+        }
+    }
+
+    private static StaticProfile createProfile(double currentPosition, double target, ProfileLimits limits,
+            double scale) {
+        final ProfileLimits scaled = limits.scaled(scale);
+        return new StaticProfile(0.0, currentPosition, target, scaled.getMaxVelocity(), scaled.getMaxAccel(),
+                scaled.getMaxDecel());
+    }
+
+    private boolean isAllowed(Constraint constraint, double total) {
+        final double[] positions = new double[profiles.length];
+        final int steps = (int) Math.ceil(total / checkStep);
+        for (int step = 0; step <= steps; step++) {
+            final double time = Math.min(step * checkStep, total);
+            for (int i = 0; i < profiles.length; i++) {
+                positions[i] = getPosition(i, time);
+            }
+            if (!constraint.isAllowed(positions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getAxisCount() {
+        return profiles.length;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * Time the axis waits before it starts moving
+     */
+    public double getStartDelay(int axis) {
+        return startDelays[axis];
+    }
+
+    public double getPosition(int axis, double time) {
+        return profiles[axis].getPosition(Math.max(time - startDelays[axis], 0.0));
+    }
+
+    public double getVelocity(int axis, double time) {
+        final double profileTime = time - startDelays[axis];
+        return (profileTime < 0.0) ? 0.0 : profiles[axis].getVelocity(profileTime);
+    }
+
+    public void sample(int axis, double time, ProfileState out) {
+        final double profileTime = time - startDelays[axis];
+        if (profileTime < 0.0) {
+            profiles[axis].sample(0.0, out);
+            out.set(out.getPosition(), 0.0, 0.0);
+            return;
+        }
+        profiles[axis].sample(profileTime, out);
+    }
+}
@@ -0,0 +1,77 @@
+package frc.robot.motion;
+
+import java.lang.Math;
+
+/**
+ * Generates trapezoidal motion one control tick at a time - each call takes the
+ * current setpoint and the target and returns the next setpoint in constant
+ * time, so the target can change at any tick without replanning and velocity
+ * stays continuous
+ */
+public class OnlineProfileGenerator {
+    private double maxVelocity, maxAccel, maxDecel;
+
+    public OnlineProfileGenerator(double maxVelocity, double maxAccel, double maxDecel) {
+        setLimits(maxVelocity, maxAccel, maxDecel);
+    }
+
+    public void setLimits(double maxVelocity, double maxAccel, double maxDecel) {
+        this.maxVelocity = maxVelocity;
+        this.maxAccel = maxAccel;
+        this.maxDecel = maxDecel;
+    }
+
+    /**
+     * Fill next with the setpoint dt seconds after current when heading for
+     * target. current and next may be the same object.
+     */
+    public void calculate(ProfileState current, double target, double dt, ProfileState next) {
+        final double position = current.getPosition();
+        final double velocity = current.getVelocity();
+
+        if (!(dt > 0.0)) {
+            next.set(position, velocity, current.getAcceleration());
+            return;
+        }
+
+        final double remainingDistance = target - position;
+
+        // Close enough to stop on the target this tick without exceeding maxDecel
+        if (Math.abs(remainingDistance) <= maxDecel * dt * dt && Math.abs(velocity) <= maxDecel * dt) {
+            next.set(target, 0.0, -velocity / dt);
+            return;
+        }
+
+        // Work in the direction of the target - speed is negative when moving away
+        final double targetDirection = (remainingDistance < 0.0) ? -1.0 : 1.0;
+        final double distance = Math.abs(remainingDistance);
+        final double speed = velocity * targetDirection;
+
+        // Fastest speed at the end of this tick that can still stop at the target
+        // at maxDecel, accounting for the distance covered during the tick:
+        // s^2 <= 2 * maxDecel * (distance - (speed + s) * dt / 2)
+        final double decelStep = maxDecel * dt;
+        final double discriminant = decelStep * decelStep + 4 * (2 * maxDecel * distance - decelStep * speed);
+        double desiredSpeed;
+        if (discriminant >= 0.0) {
+            desiredSpeed = Math.min(maxVelocity, 0.5 * (Math.sqrt(discriminant) - decelStep));
+        } else {
+            // Going to overshoot regardless - slow down as hard as allowed
+            desiredSpeed = Double.NEGATIVE_INFINITY;
+        }
+
+        // Speeding up towards the target is limited by maxAccel, everything else
+        // (slowing down, or turning around) by maxDecel
+        final double nextSpeed;
+        if (desiredSpeed > speed) {
+            final double step = (speed >= 0.0) ? maxAccel * dt : decelStep;
+            nextSpeed = Math.min(desiredSpeed, speed + step);
+        } else {
+            nextSpeed = Math.max(desiredSpeed, speed - decelStep);
+        }
+
+        final double nextVelocity = nextSpeed * targetDirection;
+        final double nextPosition = position + 0.5 * (velocity + nextVelocity) * dt;
+        next.set(nextPosition, nextVelocity, (nextVelocity - velocity) / dt);
+    }
+}
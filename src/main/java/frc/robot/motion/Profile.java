@@ -0,0 +1,21 @@
+package frc.robot.motion;
+
+/**
+ * A one dimensional motion profile that can be queried at any time since the
+ * start of the profile
+ */
+public interface Profile {
+    double getPosition(double time);
+
+    double getVelocity(double time);
+
+    double getAcceleration(double time);
+
+    double getDuration();
+
+    /**
+     * Fill out with the position, velocity and acceleration at time in a single
+     * pass, without allocating
+     */
+    void sample(double time, ProfileState out);
+}
@@ -0,0 +1,161 @@
+package frc.robot.motion;
+
+import java.util.List;
+
+/**
+ * Chunks of a profile stored as parallel primitive arrays - Chunk objects are
+ * only used while building a profile, lookups and sampling read straight from
+ * the arrays
+ */
+class ProfileBuffer {
+    private final int chunkCount;
+    private final double[] durations, startVelocities, accelerations;
+    // Cumulative start time and start position of each chunk, with one extra
+    // trailing entry for the end of the profile
+    private final double[] startTimes, startPositions;
+
+    // Chunk found by the previous query - time usually moves forward, so the next
+    // query is almost always in this chunk or the one after it
+    private int lastChunk;
+
+    /**
+     * Chunks starting at startPosition, with the end state snapped to exactly
+     * endPosition - summing the chunks leaves a rounding error, and the next move
+     * starts from this end state
+     */
+    ProfileBuffer(List<Chunk> chunks, double startPosition, double endPosition) {
+        this(chunks, startPosition);
+        startPositions[chunkCount] = endPosition;
+    }
+
+    ProfileBuffer(List<Chunk> chunks, double startPosition) {
+        chunkCount = chunks.size();
+        durations = new double[chunkCount];
+        startVelocities = new double[chunkCount];
+        accelerations = new double[chunkCount];
+        startTimes = new double[chunkCount + 1];
+        startPositions = new double[chunkCount + 1];
+
+        startPositions[0] = startPosition;
+        for (int i = 0; i < chunkCount; i++) {
+            final Chunk chunk = chunks.get(i);
+            durations[i] = chunk.getDuration();
+            startVelocities[i] = chunk.getVelocity(0.0);
+            accelerations[i] = chunk.getAcceleration();
+            startTimes[i + 1] = startTimes[i] + durations[i];
+            startPositions[i + 1] = startPositions[i] + chunk.getTotalDistance();
+        }
+    }
+
+    int getChunkCount() {
+        return chunkCount;
+    }
+
+    double getDuration() {
+        return startTimes[chunkCount];
+    }
+
+    double getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    double getStartPosition(int index) {
+        return startPositions[index];
+    }
+
+    double getEndPosition() {
+        return startPositions[chunkCount];
+    }
+
+    void sample(double time, ProfileState out) {
+        sampleChunk(findChunk(time), time, out);
+    }
+
+    // Sample at every time in a single pass over the chunks when times are sorted,
+    // outputs may be null
+    void sampleInto(double[] times, double[] outPositions, double[] outVelocities, double[] outAccelerations) {
+        int index = (times.length > 0) ? findChunk(times[0]) : 0;
+        double previousTime = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < times.length; i++) {
+            final double time = times[i];
+            if (time < previousTime) {
+                // Out of order, search again
+                index = findChunk(time);
+            } else {
+                while (index < chunkCount && time >= startTimes[index + 1]) {
+                    index++;
+                }
+            }
+            previousTime = time;
+
+            final double position, velocity, acceleration;
+            if (index == chunkCount) {
+                position = startPositions[index];
+                velocity = 0.0;
+                acceleration = 0.0;
+            } else {
+                final double chunkTime = time - startTimes[index];
+                final double startVelocity = startVelocities[index];
+                acceleration = accelerations[index];
+                velocity = startVelocity + acceleration * chunkTime;
+                position = startPositions[index] + 0.5 * (startVelocity + velocity) * chunkTime;
+            }
+            if (outPositions != null) {
+                outPositions[i] = position;
+            }
+            if (outVelocities != null) {
+                outVelocities[i] = velocity;
+            }
+            if (outAccelerations != null) {
+                outAccelerations[i] = acceleration;
+            }
+        }
+    }
+
+    // Sample within the chunk at index, or the end state if index is past the
+    // last chunk
+    void sampleChunk(int index, double time, ProfileState out) {
+        if (index == chunkCount) {
+            // time is past all the chunks, return end state - acceleration, velocity are
+            // zero, distance is the same as the end of the profile
+            out.set(startPositions[index], 0.0, 0.0);
+            return;
+        }
+        final double chunkTime = time - startTimes[index];
+        final double startVelocity = startVelocities[index];
+        final double acceleration = accelerations[index];
+        final double velocity = startVelocity + acceleration * chunkTime;
+        out.set(startPositions[index] + 0.5 * (startVelocity + velocity) * chunkTime, velocity, acceleration);
+    }
+
+    // Index of the first chunk that ends after time, or the number of chunks if
+    // time is past the end of the profile
+    int findChunk(double time) {
+        // Check the previous chunk and its successor before searching
+        int hint = lastChunk;
+        if (hint < chunkCount && time < startTimes[hint + 1] && (hint == 0 || time >= startTimes[hint])) {
+            return hint;
+        }
+        hint++;
+        if (hint < chunkCount && time < startTimes[hint + 1] && time >= startTimes[hint]) {
+            lastChunk = hint;
+            return hint;
+        }
+
+        // Binary search for the first chunk end time after time
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (time < startTimes[middle + 1]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (low < chunkCount) {
+            lastChunk = low;
+        }
+        return low;
+    }
+}
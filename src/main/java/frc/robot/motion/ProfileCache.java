@@ -0,0 +1,125 @@
+package frc.robot.motion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least recently used cache of static profiles. Start state and target
+ * are rounded to a quantum before lookup, and a profile is generated from the
+ * rounded values on a miss, so every hit for a key returns the same motion.
+ */
+public class ProfileCache {
+    private static class Key {
+        private final long velocity, position, target;
+        private final double maxVelocity, maxAccel, maxDecel;
+
+        Key(long velocity, long position, long target, ProfileLimits limits) {
+            this.velocity = velocity;
+            this.position = position;
+            this.target = target;
+            this.maxVelocity = limits.getMaxVelocity();
+            this.maxAccel = limits.getMaxAccel();
+            this.maxDecel = limits.getMaxDecel();
+        }
+
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return velocity == key.velocity && position == key.position && target == key.target
+                    && Double.compare(maxVelocity, key.maxVelocity) == 0
+                    && Double.compare(maxAccel, key.maxAccel) == 0 && Double.compare(maxDecel, key.maxDecel) == 0;
+        }
+
+        public int hashCode() {
+            long hash = velocity;
+            hash = 31 * hash + position;
+            hash = 31 * hash + target;
+            hash = 31 * hash + Double.doubleToLongBits(maxVelocity);
+            hash = 31 * hash + Double.doubleToLongBits(maxAccel);
+            hash = 31 * hash + Double.doubleToLongBits(maxDecel);
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    private final double positionQuantum, velocityQuantum;
+    private final LinkedHashMap<Key, StaticProfile> profiles;
+    private long hits, misses;
+
+    public ProfileCache(int capacity, double positionQuantum, double velocityQuantum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1");
+        }
+        if (!(positionQuantum > 0.0) || !(velocityQuantum > 0.0)) {
+            throw new IllegalArgumentException("Quantum must be positive");
+        }
+        this.positionQuantum = positionQuantum;
+        this.velocityQuantum = velocityQuantum;
+
+        // Access order, so the eldest entry is the least recently used
+        profiles = new LinkedHashMap<Key, StaticProfile>(2 * capacity, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<Key, StaticProfile> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public StaticProfile get(double currentVelocity, double currentPosition, double targetDistance,
+            ProfileLimits limits) {
+        final long velocity = Math.round(currentVelocity / velocityQuantum);
+        final long position = Math.round(currentPosition / positionQuantum);
+        final long target = Math.round(targetDistance / positionQuantum);
+        final Key key = new Key(velocity, position, target, limits);
+
+        StaticProfile profile = profiles.get(key);
+        if (profile != null) {
+            hits++;
+            return profile;
+        }
+
+        misses++;
+        profile = new StaticProfile(velocity * velocityQuantum, position * positionQuantum,
+                target * positionQuantum, limits.getMaxVelocity(), limits.getMaxAccel(), limits.getMaxDecel());
+        profiles.put(key, profile);
+        return profile;
+    }
+
+    /**
+     * Same as get, except the profile always starts exactly at the current state.
+     * Only a state and target already on the quantum grid, such as rest on a
+     * preset, come from the cache - anything else is generated without rounding
+     * and not stored.
+     */
+    public StaticProfile getExact(double currentVelocity, double currentPosition, double targetDistance,
+            ProfileLimits limits) {
+        if (Math.round(currentVelocity / velocityQuantum) * velocityQuantum == currentVelocity
+                && Math.round(currentPosition / positionQuantum) * positionQuantum == currentPosition
+                && Math.round(targetDistance / positionQuantum) * positionQuantum == targetDistance) {
+            return get(currentVelocity, currentPosition, targetDistance, limits);
+        }
+        misses++;
+        return new StaticProfile(currentVelocity, currentPosition, targetDistance, limits.getMaxVelocity(),
+                limits.getMaxAccel(), limits.getMaxDecel());
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void clear() {
+        profiles.clear();
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,31 @@
+package frc.robot.motion;
+
+public class ProfileLimits {
+    private final double maxVelocity, maxAccel, maxDecel;
+
+    public ProfileLimits(double maxVelocity, double maxAccel, double maxDecel) {
+        this.maxVelocity = maxVelocity;
+        this.maxAccel = maxAccel;
+        this.maxDecel = maxDecel;
+    }
+
+    /**
+     * Limits for running the same motion slower - a profile with these limits
+     * takes exactly 1 / scale times as long
+     */
+    public ProfileLimits scaled(double scale) {
+        return new ProfileLimits(maxVelocity * scale, maxAccel * scale * scale, maxDecel * scale * scale);
+    }
+
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    public double getMaxAccel() {
+        return maxAccel;
+    }
+
+    public double getMaxDecel() {
+        return maxDecel;
+    }
+}
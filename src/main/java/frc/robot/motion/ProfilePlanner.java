@@ -0,0 +1,94 @@
+package frc.robot.motion;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs planning on a background daemon thread so slow planners never hold up
+ * the control loop. Keeps timing stats for both the planning itself and the
+ * time the calling thread spends handing it off.
+ */
+public class ProfilePlanner {
+    private final ExecutorService executor;
+
+    // Written from the planning thread
+    private final AtomicLong planCount, totalPlanNanos, maxPlanNanos;
+    // Written from the calling thread
+    private volatile long maxSubmitNanos;
+
+    public ProfilePlanner() {
+        executor = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+            Thread thread = new Thread(runnable, "Profile planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        planCount = new AtomicLong();
+        totalPlanNanos = new AtomicLong();
+        maxPlanNanos = new AtomicLong();
+    }
+
+    public <T> Future<T> submit(Callable<T> planner) {
+        final long submitStart = System.nanoTime();
+        final Future<T> future = executor.submit(() -> {
+            final long planStart = System.nanoTime();
+            try {
+                return planner.call();
+            } finally {
+                final long planNanos = System.nanoTime() - planStart;
+                planCount.incrementAndGet();
+                totalPlanNanos.addAndGet(planNanos);
+                maxPlanNanos.accumulateAndGet(planNanos, Math::max);
+            }
+        });
+        maxSubmitNanos = Math.max(maxSubmitNanos, System.nanoTime() - submitStart);
+        return future;
+    }
+
+    /**
+     * Result of a plan if it has finished, or null if it is still pending
+     */
+    public static <T> T getIfDone(Future<T> future) {
+        if (!future.isDone()) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Planning failed", e.getCause());
+        }
+    }
+
+    public long getPlanCount() {
+        return planCount.get();
+    }
+
+    /**
+     * Average time spent planning on the background thread, in seconds
+     */
+    public double getAveragePlanTime() {
+        final long count = planCount.get();
+        return (count == 0) ? 0.0 : totalPlanNanos.get() / (count * 1e9);
+    }
+
+    public double getMaxPlanTime() {
+        return maxPlanNanos.get() / 1e9;
+    }
+
+    /**
+     * Longest time the calling thread spent handing off a plan, in seconds
+     */
+    public double getMaxSubmitTime() {
+        return maxSubmitNanos / 1e9;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package frc.robot.motion;
+
+/**
+ * Mutable position, velocity and acceleration of a profile at one moment.
+ * Owned by the caller so profiles can be sampled every tick without allocating.
+ */
+public class ProfileState {
+    private double position, velocity, acceleration;
+
+    public ProfileState() {
+        this(0.0, 0.0, 0.0);
+    }
+
+    public ProfileState(double position, double velocity, double acceleration) {
+        set(position, velocity, acceleration);
+    }
+
+    public void set(double position, double velocity, double acceleration) {
+        this.position = position;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+    }
+
+    public double getPosition() {
+        return position;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getAcceleration() {
+        return acceleration;
+    }
+}
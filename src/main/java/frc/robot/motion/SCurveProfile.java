@@ -0,0 +1,226 @@
+package frc.robot.motion;
+
+import java.lang.Math;
+
+/**
+ * Jerk limited profile - acceleration ramps between zero and its limits instead
+ * of stepping, giving up to seven constant jerk segments (ramp up, hold, ramp
+ * down acceleration, cruise, and the same again for deceleration)
+ */
+public class SCurveProfile implements Profile {
+    // Enough for a transition to stopped followed by a full seven segments
+    private static final int maxSegments = 10;
+    // Peak speed search iterations - bisection down to double precision
+    private static final int searchIterations = 64;
+
+    private final double maxVelocity, maxAccel, maxDecel, maxJerk;
+
+    // Start time, start state and jerk of each constant jerk segment, with one
+    // extra trailing entry for the end of the profile
+    private final double[] startTimes, startPositions, startVelocities, startAccelerations, jerks;
+    private int segmentCount;
+
+    public SCurveProfile(double currentVelocity, double currentPosition, double targetDistance, double maxVelocity,
+            double maxAccel, double maxDecel, double maxJerk) {
+        this.maxVelocity = maxVelocity;
+        this.maxAccel = maxAccel;
+        this.maxDecel = maxDecel;
+        this.maxJerk = maxJerk;
+
+        startTimes = new double[maxSegments + 1];
+        startPositions = new double[maxSegments + 1];
+        startVelocities = new double[maxSegments + 1];
+        startAccelerations = new double[maxSegments + 1];
+        jerks = new double[maxSegments + 1];
+
+        startPositions[0] = currentPosition;
+        startVelocities[0] = currentVelocity;
+
+        computeSegments(currentVelocity, targetDistance - currentPosition);
+    }
+
+    private void computeSegments(double currentVelocity, double remainingDistance) {
+        double currentSpeed = Math.abs(currentVelocity);
+        double distance = Math.abs(remainingDistance);
+
+        // If going in the wrong direction, going to overshoot even when stopping now,
+        // or unable to slow to max speed and still stop in time, transition to
+        // stopped before heading towards the target
+        if (currentVelocity != 0.0 && (Math.signum(currentVelocity) != Math.signum(remainingDistance)
+                || transitionDistance(currentSpeed, 0.0) > distance
+                || (currentSpeed > maxVelocity && peakDistance(currentSpeed, maxVelocity) > distance))) {
+            addTransition(currentVelocity, 0.0);
+            remainingDistance -= startPositions[segmentCount] - startPositions[0];
+            currentVelocity = 0.0;
+            currentSpeed = 0.0;
+            distance = Math.abs(remainingDistance);
+        }
+
+        final double targetDirection = Math.signum(remainingDistance);
+        if (distance == 0.0) {
+            return;
+        }
+
+        // Highest peak speed that still leaves room to stop - transitions always
+        // cover more distance the higher the peak, so bisect for it
+        final double peakSpeed;
+        if (peakDistance(currentSpeed, maxVelocity) > distance) {
+            double low = currentSpeed;
+            double high = maxVelocity;
+            for (int i = 0; i < searchIterations; i++) {
+                final double middle = 0.5 * (low + high);
+                if (peakDistance(currentSpeed, middle) > distance) {
+                    high = middle;
+                } else {
+                    low = middle;
+                }
+            }
+            peakSpeed = low;
+        } else {
+            peakSpeed = maxVelocity;
+        }
+        final double peakVelocity = peakSpeed * targetDirection;
+
+        addTransition(currentVelocity, peakVelocity);
+
+        // Cruise for whatever distance the transitions don't cover
+        final double cruiseDistance = distance - peakDistance(currentSpeed, peakSpeed);
+        if (cruiseDistance > 0.0 && peakSpeed > 0.0) {
+            addSegment(cruiseDistance / peakSpeed, 0.0);
+        }
+
+        addTransition(peakVelocity, 0.0);
+    }
+
+    // Distance covered transitioning from start speed to peak speed then to
+    // stopped
+    private double peakDistance(double startSpeed, double peakSpeed) {
+        return transitionDistance(startSpeed, peakSpeed) + transitionDistance(peakSpeed, 0.0);
+    }
+
+    // Acceleration limit for a transition - speeding up uses maxAccel, slowing
+    // down uses maxDecel
+    private double transitionLimit(double startSpeed, double endSpeed) {
+        return (endSpeed > startSpeed) ? maxAccel : maxDecel;
+    }
+
+    // Time spent ramping acceleration up (and back down) during a transition
+    private double rampDuration(double deltaSpeed, double accelLimit) {
+        if (deltaSpeed >= accelLimit * accelLimit / maxJerk) {
+            return accelLimit / maxJerk;
+        }
+        return Math.sqrt(deltaSpeed / maxJerk);
+    }
+
+    // Time spent at the acceleration limit during a transition
+    private double holdDuration(double deltaSpeed, double accelLimit) {
+        return Math.max(deltaSpeed / accelLimit - accelLimit / maxJerk, 0.0);
+    }
+
+    private double transitionDistance(double startSpeed, double endSpeed) {
+        final double deltaSpeed = Math.abs(endSpeed - startSpeed);
+        final double accelLimit = transitionLimit(startSpeed, endSpeed);
+        final double duration = 2 * rampDuration(deltaSpeed, accelLimit) + holdDuration(deltaSpeed, accelLimit);
+        // Velocity is symmetric about the middle of the transition
+        return 0.5 * (startSpeed + endSpeed) * duration;
+    }
+
+    // Add the three segments changing velocity from startVelocity to endVelocity,
+    // which must not have opposite signs
+    private void addTransition(double startVelocity, double endVelocity) {
+        final double deltaSpeed = Math.abs(endVelocity - startVelocity);
+        if (deltaSpeed == 0.0) {
+            return;
+        }
+        final double accelLimit = transitionLimit(Math.abs(startVelocity), Math.abs(endVelocity));
+        final double rampDuration = rampDuration(deltaSpeed, accelLimit);
+        final double holdDuration = holdDuration(deltaSpeed, accelLimit);
+        final double jerk = Math.signum(endVelocity - startVelocity) * maxJerk;
+
+        addSegment(rampDuration, jerk);
+        addSegment(holdDuration, 0.0);
+        addSegment(rampDuration, -jerk);
+
+        // Land exactly on the end velocity and zero acceleration
+        startVelocities[segmentCount] = endVelocity;
+        startAccelerations[segmentCount] = 0.0;
+    }
+
+    private void addSegment(double duration, double jerk) {
+        if (!(duration > 0.0)) {
+            return;
+        }
+        final int i = segmentCount;
+        final double a = startAccelerations[i];
+        final double v = startVelocities[i];
+
+        jerks[i] = jerk;
+        startTimes[i + 1] = startTimes[i] + duration;
+        startAccelerations[i + 1] = a + jerk * duration;
+        startVelocities[i + 1] = v + (a + 0.5 * jerk * duration) * duration;
+        startPositions[i + 1] = startPositions[i]
+                + (v + (0.5 * a + jerk * duration / 6.0) * duration) * duration;
+        segmentCount++;
+    }
+
+    public double getDuration() {
+        return startTimes[segmentCount];
+    }
+
+    public double getPosition(double time) {
+        final int i = findSegment(time);
+        if (i == segmentCount) {
+            return startPositions[i];
+        }
+        final double t = Math.max(time - startTimes[i], 0.0);
+        return startPositions[i] + (startVelocities[i] + (0.5 * startAccelerations[i] + jerks[i] * t / 6.0) * t) * t;
+    }
+
+    public double getVelocity(double time) {
+        final int i = findSegment(time);
+        if (i == segmentCount) {
+            return 0.0;
+        }
+        final double t = Math.max(time - startTimes[i], 0.0);
+        return startVelocities[i] + (startAccelerations[i] + 0.5 * jerks[i] * t) * t;
+    }
+
+    public double getAcceleration(double time) {
+        final int i = findSegment(time);
+        if (i == segmentCount) {
+            return 0.0;
+        }
+        return startAccelerations[i] + jerks[i] * Math.max(time - startTimes[i], 0.0);
+    }
+
+    public double getJerk(double time) {
+        final int i = findSegment(time);
+        return (i == segmentCount) ? 0.0 : jerks[i];
+    }
+
+    public void sample(double time, ProfileState out) {
+        final int i = findSegment(time);
+        if (i == segmentCount) {
+            // time is past all the segments, return end state
+            out.set(startPositions[i], 0.0, 0.0);
+            return;
+        }
+        final double t = Math.max(time - startTimes[i], 0.0);
+        final double a = startAccelerations[i];
+        final double v = startVelocities[i];
+        final double jerk = jerks[i];
+
+        out.set(startPositions[i] + (v + (0.5 * a + jerk * t / 6.0) * t) * t, v + (a + 0.5 * jerk * t) * t,
+                a + jerk * t);
+    }
+
+    // Index of the first segment that ends after time, or the number of segments
+    // if time is past the end of the profile
+    private int findSegment(double time) {
+        int i = 0;
+        while (i < segmentCount && time >= startTimes[i + 1]) {
+            i++;
+        }
+        return i;
+    }
+}
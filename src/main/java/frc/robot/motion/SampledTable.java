@@ -0,0 +1,172 @@
+package frc.robot.motion;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Profile sampled at a fixed step, as used by baked StaticProfiles and
+ * MappedProfiles. Between samples velocity changes linearly and position
+ * follows a cubic Hermite curve. Baked tables read straight from heap arrays,
+ * mapped ones from the file's buffers.
+ */
+abstract class SampledTable {
+    private static class ArrayTable extends SampledTable {
+        private final double[] positions, velocities, accelerations;
+
+        ArrayTable(double[][] columns, double sampleStep, double duration) {
+            super(columns[0].length, sampleStep, duration);
+            positions = columns[0];
+            velocities = columns[1];
+            accelerations = columns[2];
+        }
+
+        double position(int index) {
+            return positions[index];
+        }
+
+        double velocity(int index) {
+            return velocities[index];
+        }
+
+        double acceleration(int index) {
+            return accelerations[index];
+        }
+    }
+
+    private static class BufferTable extends SampledTable {
+        private final DoubleBuffer positions, velocities, accelerations;
+
+        BufferTable(DoubleBuffer positions, DoubleBuffer velocities, DoubleBuffer accelerations, double sampleStep,
+                double duration) {
+            super(positions.limit(), sampleStep, duration);
+            this.positions = positions;
+            this.velocities = velocities;
+            this.accelerations = accelerations;
+        }
+
+        double position(int index) {
+            return positions.get(index);
+        }
+
+        double velocity(int index) {
+            return velocities.get(index);
+        }
+
+        double acceleration(int index) {
+            return accelerations.get(index);
+        }
+    }
+
+    private final double sampleStep, duration;
+    private final int sampleCount;
+
+    private SampledTable(int sampleCount, double sampleStep, double duration) {
+        this.sampleCount = sampleCount;
+        this.sampleStep = sampleStep;
+        this.duration = duration;
+    }
+
+    static SampledTable fromArrays(double[][] columns, double sampleStep, double duration) {
+        return new ArrayTable(columns, sampleStep, duration);
+    }
+
+    static SampledTable fromBuffers(DoubleBuffer positions, DoubleBuffer velocities, DoubleBuffer accelerations,
+            double sampleStep, double duration) {
+        return new BufferTable(positions, velocities, accelerations, sampleStep, duration);
+    }
+
+    abstract double position(int index);
+
+    abstract double velocity(int index);
+
+    abstract double acceleration(int index);
+
+    /**
+     * Positions, velocities and accelerations of profile every sampleStep
+     * seconds, with one sample at or past the end of the profile so every query
+     * inside it has a sample on either side
+     */
+    static double[][] sampleColumns(Profile profile, double sampleStep) {
+        if (!(sampleStep > 0.0)) {
+            throw new IllegalArgumentException("Sample step must be positive");
+        }
+        final int samples = (int) Math.ceil(profile.getDuration() / sampleStep) + 1;
+        final double[] positions = new double[samples];
+        final double[] velocities = new double[samples];
+        // Average acceleration over each sample interval, consistent with linearly
+        // interpolated velocity
+        final double[] accelerations = new double[samples];
+
+        final ProfileState state = new ProfileState();
+        for (int i = 0; i < samples; i++) {
+            profile.sample(i * sampleStep, state);
+            positions[i] = state.getPosition();
+            velocities[i] = state.getVelocity();
+        }
+        for (int i = 0; i < samples - 1; i++) {
+            accelerations[i] = (velocities[i + 1] - velocities[i]) / sampleStep;
+        }
+        return new double[][] { positions, velocities, accelerations };
+    }
+
+    double getPosition(double time) {
+        final int index = sampleIndex(time);
+        if (index == sampleCount - 1) {
+            return position(index);
+        }
+        return interpolatePosition(index, sampleOffset(time, index) / sampleStep);
+    }
+
+    double getVelocity(double time) {
+        final int index = sampleIndex(time);
+        if (index == sampleCount - 1) {
+            return velocity(index);
+        }
+        return velocity(index) + acceleration(index) * sampleOffset(time, index);
+    }
+
+    double getAcceleration(double time) {
+        return acceleration(sampleIndex(time));
+    }
+
+    void sample(double time, ProfileState out) {
+        final int index = sampleIndex(time);
+        if (index == sampleCount - 1) {
+            out.set(position(index), velocity(index), acceleration(index));
+            return;
+        }
+        final double offset = sampleOffset(time, index);
+        final double acceleration = acceleration(index);
+        out.set(interpolatePosition(index, offset / sampleStep), velocity(index) + acceleration * offset,
+                acceleration);
+    }
+
+    // Index of the last sample at or before time, clamped to the samples
+    private int sampleIndex(double time) {
+        if (!(time > 0.0)) {
+            return 0;
+        }
+        if (time >= duration) {
+            return sampleCount - 1;
+        }
+        return Math.min((int) (time / sampleStep), sampleCount - 1);
+    }
+
+    private double sampleOffset(double time, int index) {
+        return Math.max(time - index * sampleStep, 0.0);
+    }
+
+    // Cubic Hermite interpolation between two samples using the sampled
+    // velocities as tangents - exact within a single constant acceleration chunk
+    private double interpolatePosition(int index, double fraction) {
+        final double p0 = position(index);
+        final double p1 = position(index + 1);
+        final double m0 = velocity(index) * sampleStep;
+        final double m1 = velocity(index + 1) * sampleStep;
+
+        final double f2 = fraction * fraction;
+        final double f3 = f2 * fraction;
+
+        return (2 * f3 - 3 * f2 + 1) * p0 + (f3 - 2 * f2 + fraction) * m0 + (-2 * f3 + 3 * f2) * p1
+                + (f3 - f2) * m1;
+    }
+}
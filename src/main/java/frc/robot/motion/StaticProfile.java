@@ -2,183 +2,190 @@ package frc.robot.motion;
 
 import java.lang.Math;
 import java.util.ArrayList;
+import java.util.List;
 
-import frc.robot.utils.Utils;
+public class StaticProfile implements Profile {
 
-public class StaticProfile {
-
-    private final ArrayList<Chunk> chunks;
-    private double maxAccel, maxDecel, maxVelocity, startingPosition;
+    private final ProfileBuffer buffer;
+    private double maxAccel, maxDecel, maxVelocity;
     private double profileDuration;
 
-    private class Moment {
-        private final double acceleration, velocity, distance;
-
-        public Moment(Chunk chunk, double time, double previousDistance) {
-            acceleration = chunk.getAcceleration();
-            velocity = chunk.getVelocity(time);
-            distance = chunk.getPosition(time) + previousDistance;
-        }
-
-        private Moment(double acceleration, double velocity, double distance) {
-            this.acceleration = acceleration;
-            this.velocity = velocity;
-            this.distance = distance;
-        }
-
-        public double getAcceleration() {
-            return acceleration;
-        }
-
-        public double getVelocity() {
-            return velocity;
-        }
-
-        public double getPosition() {
-            return distance;
-        }
-    }
-
-    private Moment getEndMoment(double distance) {
-        return new Moment(0.0, 0.0, distance);
-    }
+    // Baked lookup table, null unless the profile was constructed with a sample
+    // step
+    private SampledTable table;
 
     public StaticProfile(double currentVelocity, double currentPosition, double targetDistance, double maxVelocity,
             double maxAccel, double maxDecel) {
         final double targetDisplacement = targetDistance - currentPosition;
-        startingPosition = currentPosition;
         this.maxAccel = maxAccel;
         this.maxDecel = maxDecel;
         this.maxVelocity = maxVelocity;
 
-        chunks = computeChunks(new ArrayList<Chunk>(), currentVelocity, targetDisplacement);
+        buffer = new ProfileBuffer(computeChunks(currentVelocity, targetDisplacement), currentPosition,
+                targetDistance);
+        profileDuration = buffer.getDuration();
+    }
 
-        profileDuration = 0.0;
-        for (Chunk chunk : chunks) {
-            profileDuration += chunk.getDuration();
-        }
+    // Build a profile directly from a sequence of chunks
+    StaticProfile(List<Chunk> chunks, double startingPosition) {
+        buffer = new ProfileBuffer(chunks, startingPosition);
+        profileDuration = buffer.getDuration();
     }
 
-    private ArrayList<Chunk> computeChunks(ArrayList<Chunk> chunks, double currentVelocity, double remainingDistance) {
-        final Chunk chunk;
+    /**
+     * Create a baked profile - position, velocity and acceleration are sampled
+     * every sampleStep seconds at construction, and queries are answered from the
+     * sampled tables without walking the chunks or allocating.
+     */
+    public StaticProfile(double currentVelocity, double currentPosition, double targetDistance, double maxVelocity,
+            double maxAccel, double maxDecel, double sampleStep) {
+        this(currentVelocity, currentPosition, targetDistance, maxVelocity, maxAccel, maxDecel);
+        bake(sampleStep);
+    }
 
-        double stoppingDistance = 0.5 * (Math.abs(currentVelocity) / maxDecel) * currentVelocity;
-        double targetDirection = Math.signum(remainingDistance);
-        double currentDirection = Math.signum(currentVelocity);
+    private void bake(double sampleStep) {
+        // Not baked yet, so this samples the chunks
+        table = SampledTable.fromArrays(SampledTable.sampleColumns(this, sampleStep), sampleStep, profileDuration);
+    }
+
+    int getChunkCount() {
+        return buffer.getChunkCount();
+    }
+
+    public boolean isBaked() {
+        return table != null;
+    }
 
-        // If going in the wrong direction and at start of profile
-        // --- After this check, remainingDistance, targetDirection, currentVelocity,
-        // --- stoppingDistance, currentDirecton will all have the same sign
-        if (currentDirection != targetDirection && currentVelocity != 0.0 && chunks.size() == 0) {
-            // transition to stopped
-            chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+    // Closed form accelerate/cruise/decelerate solver - a fixed number of chunks
+    // and operations regardless of the inputs
+    private ArrayList<Chunk> computeChunks(double currentVelocity, double remainingDistance) {
+        final ArrayList<Chunk> chunks = new ArrayList<Chunk>(4);
+
+        // If going in the wrong direction, or going to overshoot even when stopping
+        // now, transition to stopped before heading towards the target
+        final double stoppingDistance = 0.5 * (Math.abs(currentVelocity) / maxDecel) * currentVelocity;
+        if (currentVelocity != 0.0 && (Math.signum(currentVelocity) != Math.signum(remainingDistance)
+                || Math.abs(stoppingDistance) > Math.abs(remainingDistance))) {
+            final Chunk chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+            chunks.add(chunk);
+            remainingDistance -= chunk.getTotalDistance();
+            currentVelocity = 0.0;
         }
-        // Else if going to overshoot and at start of profile
-        else if (Math.abs(stoppingDistance) > Math.abs(remainingDistance) && chunks.size() == 0) {
-            // transition to stopped
-            chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
+
+        // --- After this point, remainingDistance and currentVelocity have the same
+        // --- sign (or currentVelocity is zero), and there is room to stop
+        final double targetDirection = Math.signum(remainingDistance);
+        final double currentSpeed = Math.abs(currentVelocity);
+        final double distance = Math.abs(remainingDistance);
+        if (distance == 0.0) {
+            return chunks;
         }
-        // Else if going faster than max speed
-        else if (Math.abs(currentVelocity) > maxVelocity) {
-            // transition to max speed
-            chunk = Chunk.createVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel, maxDecel);
+
+        // Peak speed of a triangular profile from the current speed to stopped,
+        // capped at max speed for a trapezoidal profile
+        final double peakSpeed;
+        if (currentSpeed > maxVelocity) {
+            peakSpeed = maxVelocity;
+        } else {
+            final double triangleSpeedSquared = (2 * maxAccel * maxDecel * distance
+                    + maxDecel * currentSpeed * currentSpeed) / (maxAccel + maxDecel);
+            peakSpeed = Math.min(maxVelocity, Math.sqrt(triangleSpeedSquared));
         }
-        // Else if going slower than max speed
-        else if (Math.abs(currentVelocity) < maxVelocity) {
-            // If there is excess time to stop
-            if (Math.abs(stoppingDistance) < Math.abs(remainingDistance)) {
-                // transition to max speed
-                chunk = Chunk.createVelocityTransition(currentVelocity, maxVelocity * targetDirection, maxAccel,
-                        maxDecel);
-            } else {
-                // transiton to stopped
-                chunk = Chunk.createVelocityTransition(currentVelocity, 0.0, maxAccel, maxDecel);
-            }
+        final double peakVelocity = peakSpeed * targetDirection;
+
+        // Transition to peak speed - accelerating, or decelerating if above max speed
+        double cruiseDistance = distance - 0.5 * peakSpeed * (peakSpeed / maxDecel);
+        if (peakSpeed != currentSpeed) {
+            final Chunk chunk = Chunk.createVelocityTransition(currentVelocity, peakVelocity, maxAccel, maxDecel);
+            chunks.add(chunk);
+            cruiseDistance -= Math.abs(chunk.getTotalDistance());
         }
-        // Otherwise, must be going at max speed
-        else {
-            // If there is excess time to stop
-            if (Math.abs(stoppingDistance) < Math.abs(remainingDistance)) {
-                // max velocity transition - continue at max speed for efficiency
-                chunk = Chunk.createConstantVelocity(maxVelocity * targetDirection,
-                        remainingDistance - stoppingDistance);
-            }
-            // Else if stopping distance == remaining distance
-            else if (Utils.almostEquals(stoppingDistance, remainingDistance)) {
-                // transition to stopped
-                chunk = Chunk.createVelocityTransition(maxVelocity * targetDirection, 0.0, maxAccel, maxDecel);
-            }
-            // Else, not enough time to stop - must be triangular profile b/c overshoot
-            // would have been handled already
-            else {
-                // Remove previous chunk
-                remainingDistance += chunks.get(chunks.size() - 1).getTotalDistance();
-                currentVelocity = chunks.get(chunks.size() - 1).getVelocity(0.0);
-                stoppingDistance = 0.5 * (currentVelocity / maxDecel) * currentVelocity;
-                targetDirection = Math.signum(remainingDistance);
-                currentDirection = Math.signum(currentVelocity);
-                chunks.remove(chunks.size() - 1);
-
-                // Account for non-zero velocities going into triangular section of profile
-                double precedingTriangleArea = 0.5 * (currentVelocity * currentVelocity) / maxAccel;
-                double fullTriangleDistance = Math.abs(remainingDistance + precedingTriangleArea);
-
-                // Calculate ratio of accel distance to full distance of triangular profile
-                double fullAccelerationDistance = 0.5 * maxVelocity * (maxVelocity / maxAccel);
-                double fullDecelerationDistance = 0.5 * maxVelocity * (maxVelocity / maxDecel);
-                double ratio = fullAccelerationDistance / (fullAccelerationDistance + fullDecelerationDistance);
-
-                double accelerationDistance = ratio * fullTriangleDistance;
-
-                // Max speed robot can reach during this section of profile without overshooting
-                double triangleMaxSpeed = Math.sqrt(2 * accelerationDistance * maxAccel) * targetDirection;
-
-                chunks.add(Chunk.createVelocityTransition(currentVelocity, triangleMaxSpeed, maxAccel, maxDecel));
-                chunks.add(Chunk.createVelocityTransition(triangleMaxSpeed, 0.0, maxAccel, maxDecel));
-
-                // Target distance has been reached, return all chunks
-                return chunks;
-            }
+
+        // Continue at max speed until it is time to stop
+        if (cruiseDistance > 0.0 && peakSpeed == maxVelocity) {
+            chunks.add(Chunk.createConstantVelocity(peakVelocity, cruiseDistance * targetDirection));
         }
 
-        chunks.add(chunk);
-        if (!Utils.almostEquals(remainingDistance, chunk.getTotalDistance())) {
-            // still have farther to go
-            return computeChunks(chunks, chunk.getEndVelocity(), remainingDistance - chunk.getTotalDistance());
+        // Transition to stopped
+        if (peakSpeed != 0.0) {
+            chunks.add(Chunk.createVelocityTransition(peakVelocity, 0.0, maxAccel, maxDecel));
         }
+
         return chunks;
     }
 
     public double getVelocity(double time) {
-        return getMoment(time).getVelocity();
+        if (isBaked()) {
+            return table.getVelocity(time);
+        }
+        return getState(time).getVelocity();
     }
 
     public double getPosition(double time) {
-        return getMoment(time).getPosition();
+        if (isBaked()) {
+            return table.getPosition(time);
+        }
+        return getState(time).getPosition();
     }
 
     public double getAcceleration(double time) {
-        return getMoment(time).getAcceleration();
+        if (isBaked()) {
+            return table.getAcceleration(time);
+        }
+        return getState(time).getAcceleration();
+    }
+
+    public void sample(double time, ProfileState out) {
+        if (isBaked()) {
+            table.sample(time, out);
+            return;
+        }
+        sampleChunks(time, out);
     }
 
     public double getDuration() {
         return profileDuration;
     }
 
-    private Moment getMoment(double time) {
-        double chunkStartTime = 0.0;
-        double previousDistance = startingPosition;
-        // find the chunk that this time is in and return it
-        for (Chunk chunk : chunks) {
-            double chunkEndTime = chunkStartTime + chunk.getDuration();
-            if (time < chunkEndTime) {
-                return new Moment(chunk, time - chunkStartTime, previousDistance);
+    /**
+     * Sample the profile at every time in times, filling the matching entries of
+     * positions, velocities and accelerations. Any output may be null if it isn't
+     * needed. Sorted times are sampled in a single pass over the chunks.
+     */
+    public void sampleInto(double[] times, double[] positions, double[] velocities, double[] accelerations) {
+        if ((positions != null && positions.length < times.length)
+                || (velocities != null && velocities.length < times.length)
+                || (accelerations != null && accelerations.length < times.length)) {
+            throw new IllegalArgumentException("Output arrays must be at least as long as times");
+        }
+        if (!isBaked()) {
+            buffer.sampleInto(times, positions, velocities, accelerations);
+            return;
+        }
+
+        // Baked lookups are already constant time
+        final ProfileState state = new ProfileState();
+        for (int i = 0; i < times.length; i++) {
+            sample(times[i], state);
+            if (positions != null) {
+                positions[i] = state.getPosition();
+            }
+            if (velocities != null) {
+                velocities[i] = state.getVelocity();
+            }
+            if (accelerations != null) {
+                accelerations[i] = state.getAcceleration();
             }
-            chunkStartTime = chunkEndTime;
-            previousDistance += chunk.getTotalDistance();
         }
-        // time is past all the chunks, return end moment - acceleration, velocity are
-        // zero, distance is the same as the end of the profile
-        return getEndMoment(previousDistance);
+    }
+
+    private ProfileState getState(double time) {
+        ProfileState state = new ProfileState();
+        sampleChunks(time, state);
+        return state;
+    }
+
+    private void sampleChunks(double time, ProfileState out) {
+        buffer.sample(time, out);
     }
 }
@@ -0,0 +1,26 @@
+package frc.robot.motion;
+
+/**
+ * A position for a WaypointProfile to pass through, optionally no faster than
+ * a given speed
+ */
+public class Waypoint {
+    private final double position, maxSpeed;
+
+    public Waypoint(double position) {
+        this(position, Double.POSITIVE_INFINITY);
+    }
+
+    public Waypoint(double position, double maxSpeed) {
+        this.position = position;
+        this.maxSpeed = Math.abs(maxSpeed);
+    }
+
+    public double getPosition() {
+        return position;
+    }
+
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+}
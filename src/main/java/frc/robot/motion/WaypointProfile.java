@@ -0,0 +1,194 @@
+package frc.robot.motion;
+
+import java.lang.Math;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trapezoidal profile through a sequence of waypoints - passes through each
+ * intermediate waypoint as fast as its speed limit and the profile limits
+ * allow, and only stops at the last waypoint or where the direction of travel
+ * reverses
+ */
+public class WaypointProfile implements Profile {
+    private final double maxVelocity, maxAccel, maxDecel;
+
+    private final StaticProfile profile;
+    // Time each waypoint is passed
+    private final double[] waypointTimes;
+
+    public WaypointProfile(double currentVelocity, double currentPosition, List<Waypoint> waypoints,
+            double maxVelocity, double maxAccel, double maxDecel) {
+        if (waypoints.isEmpty()) {
+            throw new IllegalArgumentException("Profile needs at least one waypoint");
+        }
+        this.maxVelocity = maxVelocity;
+        this.maxAccel = maxAccel;
+        this.maxDecel = maxDecel;
+
+        final int count = waypoints.size();
+        final double[] positions = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            positions[i + 1] = waypoints.get(i).getPosition();
+        }
+
+        final ArrayList<Chunk> chunks = new ArrayList<Chunk>();
+        double startPosition = currentPosition;
+        double startVelocity = currentVelocity;
+
+        // If going in the wrong direction, or too fast to make the first waypoint,
+        // transition to stopped first and plan from there
+        positions[0] = startPosition;
+        double[] maxSpeeds = computeMaxSpeeds(positions, waypoints);
+        final double firstDisplacement = positions[1] - positions[0];
+        final double firstMaxSpeed = Math
+                .sqrt(maxSpeeds[1] * maxSpeeds[1] + 2 * maxDecel * Math.abs(firstDisplacement));
+        if (startVelocity != 0.0 && (Math.signum(startVelocity) != Math.signum(firstDisplacement)
+                || Math.abs(startVelocity) > firstMaxSpeed)) {
+            Chunk chunk = Chunk.createVelocityTransition(startVelocity, 0.0, maxAccel, maxDecel);
+            chunks.add(chunk);
+            positions[0] += chunk.getTotalDistance();
+            startVelocity = 0.0;
+            maxSpeeds = computeMaxSpeeds(positions, waypoints);
+        }
+
+        // Forward pass - accelerate as hard as allowed towards each speed limit. The
+        // backward pass guarantees there is always room to slow down for the next
+        double speed = Math.abs(startVelocity);
+        double time = sumDurations(chunks);
+        waypointTimes = new double[count];
+        for (int i = 1; i <= count; i++) {
+            final double displacement = positions[i] - positions[i - 1];
+            final double distance = Math.abs(displacement);
+            final double direction = Math.signum(displacement);
+
+            final double endSpeed = Math.min(maxSpeeds[i], Math.sqrt(speed * speed + 2 * maxAccel * distance));
+            final int firstChunk = chunks.size();
+            addSegment(chunks, speed * direction, endSpeed * direction, distance, direction);
+            time += sumDurations(chunks.subList(firstChunk, chunks.size()));
+            waypointTimes[i - 1] = time;
+
+            speed = endSpeed;
+        }
+
+        profile = new StaticProfile(chunks, startPosition);
+    }
+
+    // Speed limit at each waypoint, including slowing down in time for every
+    // waypoint after it. Index 0 is the start and is left unlimited.
+    private double[] computeMaxSpeeds(double[] positions, List<Waypoint> waypoints) {
+        final int count = waypoints.size();
+        final double[] maxSpeeds = new double[count + 1];
+        maxSpeeds[0] = Double.POSITIVE_INFINITY;
+        maxSpeeds[count] = 0.0;
+
+        // Direction of the next segment that actually moves, so repeated waypoints
+        // don't hide a change of direction
+        final double[] nextDirections = new double[count + 1];
+        for (int i = count - 1; i >= 0; i--) {
+            final double direction = Math.signum(positions[i + 1] - positions[i]);
+            nextDirections[i] = (direction != 0.0) ? direction : nextDirections[i + 1];
+        }
+
+        double previousDirection = 0.0;
+        for (int i = 1; i < count; i++) {
+            final double direction = Math.signum(positions[i] - positions[i - 1]);
+            if (direction != 0.0) {
+                previousDirection = direction;
+            }
+            // Must stop to change direction
+            if (previousDirection * nextDirections[i] < 0.0) {
+                maxSpeeds[i] = 0.0;
+            } else {
+                maxSpeeds[i] = Math.min(maxVelocity, waypoints.get(i - 1).getMaxSpeed());
+            }
+        }
+
+        // Backward pass
+        for (int i = count - 1; i >= 1; i--) {
+            final double distance = Math.abs(positions[i + 1] - positions[i]);
+            final double reachable = Math.sqrt(maxSpeeds[i + 1] * maxSpeeds[i + 1] + 2 * maxDecel * distance);
+            maxSpeeds[i] = Math.min(maxSpeeds[i], reachable);
+        }
+        return maxSpeeds;
+    }
+
+    // Add chunks for one segment between waypoints - transition to the peak
+    // speed, cruise at max speed if there is room, then transition to the end
+    // speed
+    private void addSegment(List<Chunk> chunks, double startVelocity, double endVelocity, double distance,
+            double direction) {
+        if (distance == 0.0) {
+            return;
+        }
+        final double startSpeed = Math.abs(startVelocity);
+        final double endSpeed = Math.abs(endVelocity);
+
+        final double triangleSpeedSquared = (2 * maxAccel * maxDecel * distance + maxDecel * startSpeed * startSpeed
+                + maxAccel * endSpeed * endSpeed) / (maxAccel + maxDecel);
+        final double peakSpeed;
+        if (startSpeed > maxVelocity) {
+            // Only possible at the start of the profile - slow to max speed first
+            peakSpeed = maxVelocity;
+        } else {
+            peakSpeed = Math.max(Math.min(maxVelocity, Math.sqrt(triangleSpeedSquared)),
+                    Math.max(startSpeed, endSpeed));
+        }
+        final double peakVelocity = peakSpeed * direction;
+
+        double cruiseDistance = distance;
+        if (peakSpeed != startSpeed) {
+            final Chunk chunk = Chunk.createVelocityTransition(startVelocity, peakVelocity, maxAccel, maxDecel);
+            chunks.add(chunk);
+            cruiseDistance -= Math.abs(chunk.getTotalDistance());
+        }
+        final Chunk endChunk = (peakSpeed != endSpeed)
+                ? Chunk.createVelocityTransition(peakVelocity, endVelocity, maxAccel, maxDecel)
+                : null;
+        if (endChunk != null) {
+            cruiseDistance -= Math.abs(endChunk.getTotalDistance());
+        }
+
+        if (cruiseDistance > 0.0 && peakSpeed > 0.0) {
+            chunks.add(Chunk.createConstantVelocity(peakVelocity, cruiseDistance * direction));
+        }
+        if (endChunk != null) {
+            chunks.add(endChunk);
+        }
+    }
+
+    private static double sumDurations(List<Chunk> chunks) {
+        double duration = 0.0;
+        for (Chunk chunk : chunks) {
+            duration += chunk.getDuration();
+        }
+        return duration;
+    }
+
+    /**
+     * Time since the start of the profile that the waypoint at index is passed
+     */
+    public double getWaypointTime(int index) {
+        return waypointTimes[index];
+    }
+
+    public double getPosition(double time) {
+        return profile.getPosition(time);
+    }
+
+    public double getVelocity(double time) {
+        return profile.getVelocity(time);
+    }
+
+    public double getAcceleration(double time) {
+        return profile.getAcceleration(time);
+    }
+
+    public double getDuration() {
+        return profile.getDuration();
+    }
+
+    public void sample(double time, ProfileState out) {
+        profile.sample(time, out);
+    }
+}
@@ -0,0 +1,164 @@
+package frc.robot.pidf;
+
+import frc.robot.utils.LeastSquares;
+
+/**
+ * Fits the feedforward model output = kS sign(v) + kV v + kA a from samples of
+ * a mechanism driven by a slow quasi-static ramp, which mostly measures kS and
+ * kV, and a sudden step, which measures kA. Samples are folded into a
+ * LeastSquares as they arrive, so a test can run for as long as needed.
+ */
+public class FeedforwardCharacterizer {
+    public static class Result {
+        private final double kS, kV, kA;
+        private final double rootMeanSquareError;
+        private final int sampleCount;
+
+        private Result(double kS, double kV, double kA, double rootMeanSquareError, int sampleCount) {
+            this.kS = kS;
+            this.kV = kV;
+            this.kA = kA;
+            this.rootMeanSquareError = rootMeanSquareError;
+            this.sampleCount = sampleCount;
+        }
+
+        /**
+         * Output needed to start moving, which Gains has no term for. Add kS times
+         * the sign of the velocity to the PIDF output where friction matters.
+         */
+        public double kS() {
+            return kS;
+        }
+
+        public double kV() {
+            return kV;
+        }
+
+        public double kA() {
+            return kA;
+        }
+
+        /**
+         * How far the samples are from the fitted model, in units of output
+         */
+        public double getRootMeanSquareError() {
+            return rootMeanSquareError;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        /**
+         * Feedback gains combined with the fitted feedforward
+         */
+        public Gains gains(double kP, double kI, double kD) {
+            return new Gains(kP, kI, kD, 0.0, kV, kA);
+        }
+    }
+
+    // Outputs per second for the quasi-static ramp, and the output for the step
+    private final double rampRate, stepOutput;
+    // Samples slower than this are dropped, friction isn't modeled while stuck
+    private final double minVelocity;
+
+    private final LeastSquares fit;
+    private final double[] features;
+
+    public FeedforwardCharacterizer(double rampRate, double stepOutput, double minVelocity) {
+        if (rampRate <= 0.0 || stepOutput <= 0.0 || minVelocity < 0.0) {
+            throw new IllegalArgumentException("Ramp rate and step output must be positive");
+        }
+        this.rampRate = rampRate;
+        this.stepOutput = stepOutput;
+        this.minVelocity = minVelocity;
+        this.fit = new LeastSquares(3);
+        this.features = new double[3];
+    }
+
+    /**
+     * Output for the quasi-static test, time seconds after it started
+     */
+    public double getQuasistaticOutput(double time, boolean forwards) {
+        return (forwards ? 1.0 : -1.0) * rampRate * time;
+    }
+
+    /**
+     * Output for the step test
+     */
+    public double getStepOutput(boolean forwards) {
+        return forwards ? stepOutput : -stepOutput;
+    }
+
+    /**
+     * Add a sample of the output applied and the velocity and acceleration it
+     * produced, from either test
+     */
+    public void addSample(double output, double velocity, double acceleration) {
+        if (Math.abs(velocity) <= minVelocity) {
+            return;
+        }
+        features[0] = Math.signum(velocity);
+        features[1] = velocity;
+        features[2] = acceleration;
+        fit.add(features, output);
+    }
+
+    public int getSampleCount() {
+        return fit.getCount();
+    }
+
+    public void clear() {
+        fit.clear();
+    }
+
+    /**
+     * Fit the samples so far. Throws IllegalStateException if they don't
+     * determine all three terms, for example without a step test.
+     */
+    public Result solve() {
+        double[] coefficients = fit.solve();
+        return new Result(coefficients[0], coefficients[1], coefficients[2],
+                fit.getRootMeanSquareError(coefficients), fit.getCount());
+    }
+
+    /**
+     * Run both tests in both directions on a plant that measures position, for
+     * testTime seconds each with a stop in between, and fit the result
+     */
+    public Result characterize(Plant plant, double dt, double testTime) {
+        final int steps = (int) Math.ceil(testTime / dt);
+        for (int test = 0; test < 4; test++) {
+            final boolean quasistatic = test < 2;
+            final boolean forwards = (test % 2) == 0;
+
+            double position = plant.getMeasurement();
+            double velocity = 0.0;
+            double previousOutput = 0.0;
+            for (int i = 0; i < steps; i++) {
+                final double output = quasistatic ? getQuasistaticOutput(i * dt, forwards) : getStepOutput(forwards);
+                plant.step(output, dt);
+
+                // Average velocity over the step, and the acceleration since the
+                // previous one
+                final double newPosition = plant.getMeasurement();
+                final double newVelocity = (newPosition - position) / dt;
+                final double acceleration = (newVelocity - velocity) / dt;
+                // The first differences straddle the step, where acceleration isn't
+                // defined
+                if (i >= 2) {
+                    addSample(0.5 * (output + previousOutput), 0.5 * (newVelocity + velocity), acceleration);
+                }
+                position = newPosition;
+                velocity = newVelocity;
+                previousOutput = output;
+            }
+
+            // Coast to a stop before the next test
+            for (int i = 0; i < steps; i++) {
+                plant.step(0.0, dt);
+            }
+        }
+        return solve();
+    }
+}
@@ -0,0 +1,100 @@
+package frc.robot.pidf;
+
+/**
+ * Table of gains at increasing values of a scheduling variable, such as
+ * mechanism position. Gains between breakpoints are linearly interpolated,
+ * and gains past either end of the table are held at the end values.
+ */
+public class GainSchedule {
+    private final int count;
+    private final double[] breakpoints;
+    private final double[] kP, kI, kD, kF, kV, kA;
+
+    private int lastSegment;
+
+    public GainSchedule(double[] breakpoints, Gains[] gains) {
+        if (breakpoints.length == 0 || breakpoints.length != gains.length) {
+            throw new IllegalArgumentException("Need gains for each of at least one breakpoint");
+        }
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (!(breakpoints[i] > breakpoints[i - 1])) {
+                throw new IllegalArgumentException("Breakpoints must be strictly increasing");
+            }
+        }
+        this.count = breakpoints.length;
+        this.breakpoints = breakpoints.clone();
+
+        kP = new double[count];
+        kI = new double[count];
+        kD = new double[count];
+        kF = new double[count];
+        kV = new double[count];
+        kA = new double[count];
+        for (int i = 0; i < count; i++) {
+            kP[i] = gains[i].kP();
+            kI[i] = gains[i].kI();
+            kD[i] = gains[i].kD();
+            kF[i] = gains[i].kF();
+            kV[i] = gains[i].kV();
+            kA[i] = gains[i].kA();
+        }
+    }
+
+    /**
+     * Interpolated gains at value. Allocates, use ScheduledPIDF in control loops
+     */
+    public Gains getGains(double value) {
+        Gains gains = new Gains(0.0, 0.0, 0.0);
+        lookup(value, gains);
+        return gains;
+    }
+
+    // Write the interpolated gains at value into out
+    void lookup(double value, Gains out) {
+        if (!(value > breakpoints[0])) {
+            setFromBreakpoint(0, out);
+            return;
+        } else if (value >= breakpoints[count - 1]) {
+            setFromBreakpoint(count - 1, out);
+            return;
+        }
+
+        final int i = findSegment(value);
+        final double fraction = (value - breakpoints[i]) / (breakpoints[i + 1] - breakpoints[i]);
+        out.set(interpolate(kP, i, fraction), interpolate(kI, i, fraction), interpolate(kD, i, fraction),
+                interpolate(kF, i, fraction), interpolate(kV, i, fraction), interpolate(kA, i, fraction));
+    }
+
+    private void setFromBreakpoint(int i, Gains out) {
+        out.set(kP[i], kI[i], kD[i], kF[i], kV[i], kA[i]);
+    }
+
+    private static double interpolate(double[] values, int i, double fraction) {
+        return values[i] + (values[i + 1] - values[i]) * fraction;
+    }
+
+    // Index of the breakpoint starting the segment containing value, which must
+    // be strictly inside the table
+    private int findSegment(double value) {
+        // The scheduling variable usually moves slowly, so check the previous
+        // segment first
+        final int hint = lastSegment;
+        if (value >= breakpoints[hint] && value < breakpoints[hint + 1]) {
+            return hint;
+        }
+
+        // Binary search for the last breakpoint at or below value
+        int low = 0;
+        int high = count - 2;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (value < breakpoints[middle]) {
+                high = middle - 1;
+            } else {
+                low = middle;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+}
@@ -17,6 +17,16 @@ public class Gains {
         this.kA = kA;
     }
 
+    // Only for reusing one Gains while scheduling, so lookups don't allocate
+    void set(double kP, double kI, double kD, double kF, double kV, double kA) {
+        this.kP = kP;
+        this.kI = kI;
+        this.kD = kD;
+        this.kF = kF;
+        this.kV = kV;
+        this.kA = kA;
+    }
+
     public double kP() {
         return kP;
     }
@@ -0,0 +1,211 @@
+package frc.robot.pidf;
+
+import frc.robot.utils.Bounds;
+
+/**
+ * A fixed number of PIDF controllers stored in parallel primitive arrays, so
+ * every loop can be updated in one pass each tick. Each controller behaves
+ * exactly like a PIDF with the same gains and settings.
+ */
+public class PIDFBank {
+    private final int capacity;
+    private int size;
+
+    private final double[] kP, kI, kD, kF, kV, kA;
+    private final double[] outputMin, outputMax;
+    // Infinite when no input bounds are set, so wrapping never applies
+    private final double[] inputSize;
+    private final boolean[] continuous, useDerivativeOnInput;
+
+    private final double[] integralTerm;
+    private final double[] previousTime, previousInput, previousError, previousDerivative;
+
+    public PIDFBank(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Bank needs room for at least one controller");
+        }
+        this.capacity = capacity;
+        this.size = 0;
+
+        kP = new double[capacity];
+        kI = new double[capacity];
+        kD = new double[capacity];
+        kF = new double[capacity];
+        kV = new double[capacity];
+        kA = new double[capacity];
+        outputMin = new double[capacity];
+        outputMax = new double[capacity];
+        inputSize = new double[capacity];
+        continuous = new boolean[capacity];
+        useDerivativeOnInput = new boolean[capacity];
+
+        integralTerm = new double[capacity];
+        previousTime = new double[capacity];
+        previousInput = new double[capacity];
+        previousError = new double[capacity];
+        previousDerivative = new double[capacity];
+    }
+
+    /**
+     * Add a controller, returns its index in the bank
+     */
+    public int add(Gains gains, Bounds outputBounds) {
+        if (size == capacity) {
+            throw new IllegalStateException("Bank is full");
+        }
+        int index = size++;
+        setGains(index, gains);
+        outputMin[index] = outputBounds.min();
+        outputMax[index] = outputBounds.max();
+        inputSize[index] = Double.POSITIVE_INFINITY;
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void setGains(int index, Gains gains) {
+        checkIndex(index);
+        kP[index] = gains.kP();
+        kI[index] = gains.kI();
+        kD[index] = gains.kD();
+        kF[index] = gains.kF();
+        kV[index] = gains.kV();
+        kA[index] = gains.kA();
+    }
+
+    /**
+     * See PIDF.setDerivativeOnInput
+     */
+    public void setDerivativeOnInput(int index, boolean on) {
+        checkIndex(index);
+        useDerivativeOnInput[index] = on;
+    }
+
+    /**
+     * See PIDF.setContinuous
+     */
+    public void setContinuous(int index, Bounds inputBounds, boolean continuous) {
+        checkIndex(index);
+        this.continuous[index] = continuous;
+        inputSize[index] = inputBounds.size();
+    }
+
+    public void initialize(int index, double input, double time, double currentOutput) {
+        checkIndex(index);
+        integralTerm[index] = currentOutput;
+        previousTime[index] = time;
+        previousInput[index] = input;
+        previousError[index] = 0;
+
+        previousDerivative[index] = 0;
+    }
+
+    public double calculateOutput(int index, double input, double setpoint, double time) {
+        return calculateOutput(index, input, setpoint, 0.0, 0.0, time);
+    }
+
+    public double calculateOutput(int index, double input, double setpoint, double velocity, double acceleration,
+            double time) {
+        checkIndex(index);
+        return update(index, input, setpoint, velocity, acceleration, time);
+    }
+
+    /**
+     * Update every controller at once, element i of each array is for the
+     * controller at index i. Velocities and accelerations may be null if no
+     * controller uses them.
+     */
+    public void calculateOutputs(double[] inputs, double[] setpoints, double[] velocities, double[] accelerations,
+            double time, double[] outputs) {
+        checkLength(inputs);
+        checkLength(setpoints);
+        checkLength(outputs);
+        if (velocities != null) {
+            checkLength(velocities);
+        }
+        if (accelerations != null) {
+            checkLength(accelerations);
+        }
+
+        for (int i = 0; i < size; i++) {
+            double velocity = (velocities != null) ? velocities[i] : 0.0;
+            double acceleration = (accelerations != null) ? accelerations[i] : 0.0;
+            outputs[i] = update(i, inputs[i], setpoints[i], velocity, acceleration, time);
+        }
+    }
+
+    // Same steps as PIDF.calculateOutput
+    private double update(int i, double input, double setpoint, double velocity, double acceleration, double time) {
+        double error = setpoint - input;
+        if (continuous[i]) {
+            error = wrap(error, inputSize[i]);
+        }
+
+        double deltaTime = time - previousTime[i];
+
+        double integral = integralTerm[i] + kI[i] * error * deltaTime;
+
+        double derivative;
+        if (deltaTime > 0.0) {
+            if (useDerivativeOnInput[i]) {
+                double deltaInput = wrap(input - previousInput[i], inputSize[i]);
+                derivative = -deltaInput / deltaTime;
+            } else {
+                derivative = (error - previousError[i]) / deltaTime;
+            }
+        } else {
+            derivative = previousDerivative[i];
+        }
+
+        previousInput[i] = input;
+        previousError[i] = error;
+        previousTime[i] = time;
+        previousDerivative[i] = derivative;
+
+        double feedback = kP[i] * error + integral + kD[i] * derivative;
+        double feedforward = kF[i] * setpoint + kV[i] * velocity + kA[i] * acceleration;
+
+        double output = feedforward + feedback;
+
+        // Prevent integral windup and lag
+        double min = outputMin[i], max = outputMax[i];
+        if (output > max && integral > max) {
+            integral -= output - max;
+        } else if (output < min && integral < min) {
+            integral += min - output;
+        }
+        integralTerm[i] = clamp(integral, min, max);
+
+        return clamp(output, min, max);
+    }
+
+    private static double wrap(double error, double size) {
+        if (Math.abs(error) > size / 2.0) {
+            return error - Math.signum(error) * size;
+        }
+        return error;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        if (value < min) {
+            return min;
+        } else if (value > max) {
+            return max;
+        }
+        return value;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("No controller at index " + index);
+        }
+    }
+
+    private void checkLength(double[] values) {
+        if (values.length < size) {
+            throw new IllegalArgumentException("Need a value for each of the " + size + " controllers");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package frc.robot.pidf;
+
+/**
+ * Something a controller can drive, such as a simulated mechanism
+ */
+public interface Plant {
+    /**
+     * Apply output for dt seconds
+     */
+    void step(double output, double dt);
+
+    double getMeasurement();
+}
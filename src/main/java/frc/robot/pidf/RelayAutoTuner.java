@@ -0,0 +1,174 @@
+package frc.robot.pidf;
+
+/**
+ * Finds starting gains with a relay feedback experiment. The output switches
+ * between plus and minus the relay amplitude whenever the measurement crosses
+ * the setpoint, which makes the plant oscillate at its ultimate period. The
+ * ultimate gain follows from the size of the oscillation, and gains from one of
+ * the classic tuning rules.
+ *
+ * The experiment steps in fixed time increments, so results are repeatable and
+ * a simulated plant can be tuned much faster than real time.
+ */
+public class RelayAutoTuner {
+    public enum Rule {
+        // Quarter decay, fast but overshoots
+        ZIEGLER_NICHOLS(0.6, 0.5, 0.125),
+        SOME_OVERSHOOT(0.33, 0.5, 0.33),
+        NO_OVERSHOOT(0.2, 0.5, 0.33);
+
+        // Proportional gain and integral and derivative times as fractions of the
+        // ultimate gain and period
+        private final double gainFraction, integralFraction, derivativeFraction;
+
+        Rule(double gainFraction, double integralFraction, double derivativeFraction) {
+            this.gainFraction = gainFraction;
+            this.integralFraction = integralFraction;
+            this.derivativeFraction = derivativeFraction;
+        }
+    }
+
+    public static class Result {
+        private final double ultimateGain, ultimatePeriod, amplitude;
+
+        private Result(double ultimateGain, double ultimatePeriod, double amplitude) {
+            this.ultimateGain = ultimateGain;
+            this.ultimatePeriod = ultimatePeriod;
+            this.amplitude = amplitude;
+        }
+
+        public double getUltimateGain() {
+            return ultimateGain;
+        }
+
+        public double getUltimatePeriod() {
+            return ultimatePeriod;
+        }
+
+        /**
+         * Half of the peak to peak size of the measured oscillation
+         */
+        public double getAmplitude() {
+            return amplitude;
+        }
+
+        public Gains gains(Rule rule) {
+            double kP = rule.gainFraction * ultimateGain;
+            double kI = kP / (rule.integralFraction * ultimatePeriod);
+            double kD = kP * rule.derivativeFraction * ultimatePeriod;
+            return new Gains(kP, kI, kD);
+        }
+    }
+
+    private final double relayAmplitude, hysteresis, dt;
+    // Cycles skipped while the oscillation settles, then cycles measured
+    private final int settleCycles, measureCycles;
+
+    public RelayAutoTuner(double relayAmplitude, double hysteresis, double dt) {
+        this(relayAmplitude, hysteresis, dt, 2, 4);
+    }
+
+    public RelayAutoTuner(double relayAmplitude, double hysteresis, double dt, int settleCycles,
+            int measureCycles) {
+        if (relayAmplitude <= 0.0 || hysteresis < 0.0 || dt <= 0.0) {
+            throw new IllegalArgumentException("Relay amplitude and time step must be positive");
+        }
+        if (settleCycles < 0 || measureCycles < 1) {
+            throw new IllegalArgumentException("Need at least one cycle to measure");
+        }
+        this.relayAmplitude = relayAmplitude;
+        this.hysteresis = hysteresis;
+        this.dt = dt;
+        this.settleCycles = settleCycles;
+        this.measureCycles = measureCycles;
+    }
+
+    /**
+     * Run the relay experiment around setpoint, starting from the plant's current
+     * state. Throws IllegalStateException if the plant doesn't oscillate within
+     * maxTime seconds.
+     */
+    public Result tune(Plant plant, double setpoint, double maxTime) {
+        final int maxSteps = (int) Math.ceil(maxTime / dt);
+        final int neededSwitches = 2 * (settleCycles + measureCycles) + 1;
+        final double[] times = new double[maxSteps];
+        final double[] outputs = new double[maxSteps];
+        final double[] measurements = new double[maxSteps];
+
+        double measurement = plant.getMeasurement();
+        double output = (setpoint - measurement >= 0.0) ? relayAmplitude : -relayAmplitude;
+        int switches = 0;
+        int steps = 0;
+        while (steps < maxSteps && switches < neededSwitches) {
+            double error = setpoint - measurement;
+            if (output > 0.0 && error < -hysteresis) {
+                output = -relayAmplitude;
+                switches++;
+            } else if (output < 0.0 && error > hysteresis) {
+                output = relayAmplitude;
+                switches++;
+            }
+            times[steps] = steps * dt;
+            outputs[steps] = output;
+            measurements[steps] = measurement;
+            steps++;
+
+            plant.step(output, dt);
+            measurement = plant.getMeasurement();
+        }
+        return analyze(times, outputs, measurements, steps);
+    }
+
+    /**
+     * Analyze a relay experiment recorded elsewhere, such as on the robot with
+     * this tuner's relay amplitude and hysteresis. Throws IllegalStateException if
+     * there aren't enough cycles.
+     */
+    public Result analyze(double[] times, double[] outputs, double[] measurements) {
+        if (times.length != outputs.length || times.length != measurements.length) {
+            throw new IllegalArgumentException("Need an output and measurement at each time");
+        }
+        return analyze(times, outputs, measurements, times.length);
+    }
+
+    private Result analyze(double[] times, double[] outputs, double[] measurements, int count) {
+        // Times the relay switches
+        final double[] switchTimes = new double[count];
+        final int[] switchIndices = new int[count];
+        int switches = 0;
+        for (int i = 1; i < count; i++) {
+            if (outputs[i] != outputs[i - 1]) {
+                switchTimes[switches] = times[i];
+                switchIndices[switches] = i;
+                switches++;
+            }
+        }
+
+        final int first = 2 * settleCycles;
+        final int last = first + 2 * measureCycles;
+        if (switches <= last) {
+            throw new IllegalStateException("Plant did not oscillate for " + (settleCycles + measureCycles)
+                    + " cycles, try a larger relay amplitude or longer time");
+        }
+
+        final double period = (switchTimes[last] - switchTimes[first]) / measureCycles;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        double minOutput = Double.POSITIVE_INFINITY, maxOutput = Double.NEGATIVE_INFINITY;
+        for (int i = switchIndices[first]; i < switchIndices[last]; i++) {
+            min = Math.min(min, measurements[i]);
+            max = Math.max(max, measurements[i]);
+            minOutput = Math.min(minOutput, outputs[i]);
+            maxOutput = Math.max(maxOutput, outputs[i]);
+        }
+        final double amplitude = (max - min) / 2.0;
+        final double relay = (maxOutput - minOutput) / 2.0;
+        if (!(amplitude > hysteresis)) {
+            throw new IllegalStateException("Oscillation is within the hysteresis band");
+        }
+
+        // Describing function of a relay with hysteresis
+        final double ultimateGain = 4.0 * relay
+                / (Math.PI * Math.sqrt(amplitude * amplitude - hysteresis * hysteresis));
+        return new Result(ultimateGain, period, amplitude);
+    }
+}
@@ -0,0 +1,48 @@
+package frc.robot.pidf;
+
+import frc.robot.utils.Bounds;
+
+/**
+ * PIDF whose gains are looked up from a GainSchedule every update, without
+ * allocating
+ */
+public class ScheduledPIDF {
+    private final GainSchedule schedule;
+    // Shared with the PIDF and overwritten before each update
+    private final Gains gains;
+    private final PIDF pidf;
+
+    public ScheduledPIDF(GainSchedule schedule, Bounds outputBounds) {
+        this.schedule = schedule;
+        this.gains = new Gains(0.0, 0.0, 0.0);
+        this.pidf = new PIDF(gains, outputBounds);
+    }
+
+    /**
+     * See PIDF.setDerivativeOnInput
+     */
+    public void setDerivativeOnInput(boolean on) {
+        pidf.setDerivativeOnInput(on);
+    }
+
+    /**
+     * See PIDF.setContinuous
+     */
+    public void setContinuous(Bounds inputBounds, boolean continuous) {
+        pidf.setContinuous(inputBounds, continuous);
+    }
+
+    public void initialize(double input, double time, double currentOutput) {
+        pidf.initialize(input, time, currentOutput);
+    }
+
+    public double calculateOutput(double scheduleValue, double input, double setpoint, double time) {
+        return calculateOutput(scheduleValue, input, setpoint, 0.0, 0.0, time);
+    }
+
+    public double calculateOutput(double scheduleValue, double input, double setpoint, double velocity,
+            double acceleration, double time) {
+        schedule.lookup(scheduleValue, gains);
+        return pidf.calculateOutput(input, setpoint, velocity, acceleration, time);
+    }
+}
@@ -0,0 +1,62 @@
+package frc.robot.sim;
+
+/**
+ * Brushed DC motor model from its datasheet stall and free running values,
+ * for one or more identical motors geared together
+ */
+public class DCMotor {
+    public static final double nominalVoltage = 12.0;
+
+    private final double resistance;
+    // Nm per amp and rad/s per volt of back EMF
+    private final double torqueConstant, speedConstant;
+    private final int count;
+
+    public DCMotor(double stallTorque, double stallCurrent, double freeCurrent, double freeSpeedRpm, int count) {
+        if (stallTorque <= 0.0 || stallCurrent <= 0.0 || freeSpeedRpm <= 0.0 || count <= 0) {
+            throw new IllegalArgumentException("Motor constants and count must be positive");
+        }
+        this.resistance = nominalVoltage / stallCurrent;
+        this.torqueConstant = stallTorque / stallCurrent;
+        this.speedConstant = Math.toRadians(freeSpeedRpm * 6.0) / (nominalVoltage - resistance * freeCurrent);
+        this.count = count;
+    }
+
+    public static DCMotor cim(int count) {
+        return new DCMotor(2.42, 133.0, 2.7, 5310.0, count);
+    }
+
+    public static DCMotor miniCim(int count) {
+        return new DCMotor(1.41, 89.0, 3.0, 5840.0, count);
+    }
+
+    public static DCMotor pro775(int count) {
+        return new DCMotor(0.71, 134.0, 0.7, 18730.0, count);
+    }
+
+    /**
+     * Total torque in Nm from all motors at voltage while turning at speed in
+     * rad/s
+     */
+    public double getTorque(double voltage, double speed) {
+        return count * torqueConstant * getCurrentPerMotor(voltage, speed);
+    }
+
+    /**
+     * Total current in amps drawn by all motors
+     */
+    public double getCurrent(double voltage, double speed) {
+        return count * getCurrentPerMotor(voltage, speed);
+    }
+
+    private double getCurrentPerMotor(double voltage, double speed) {
+        return (voltage - speed / speedConstant) / resistance;
+    }
+
+    /**
+     * Speed in rad/s with no load at voltage
+     */
+    public double getFreeSpeed(double voltage) {
+        return voltage * speedConstant;
+    }
+}
@@ -0,0 +1,113 @@
+package frc.robot.sim;
+
+import java.util.Arrays;
+
+/**
+ * Differential drive on a flat floor, each side driven by its own gearbox.
+ * Wheels don't slip. Encoders are on the wheel shafts and the gyro measures
+ * heading exactly.
+ */
+public class DrivetrainSim implements Dynamics {
+    private static final double maxStep = 0.001;
+
+    private final DCMotor sideMotor;
+    private final double gearing, wheelRadius, mass, momentOfInertia, trackWidth;
+
+    // x and y in m, heading in rad, and left and right wheel velocities in m/s,
+    // followed by left and right wheel distances in m
+    private final double[] state;
+    private final double[] inputs;
+    private final RK4 integrator;
+
+    /**
+     * sideMotor is the motors on one side, mass and moment of inertia are for the
+     * whole robot
+     */
+    public DrivetrainSim(DCMotor sideMotor, double gearing, double wheelRadius, double mass, double momentOfInertia,
+            double trackWidth) {
+        if (gearing <= 0.0 || wheelRadius <= 0.0 || mass <= 0.0 || momentOfInertia <= 0.0 || trackWidth <= 0.0) {
+            throw new IllegalArgumentException("Drivetrain dimensions must be positive");
+        }
+        this.sideMotor = sideMotor;
+        this.gearing = gearing;
+        this.wheelRadius = wheelRadius;
+        this.mass = mass;
+        this.momentOfInertia = momentOfInertia;
+        this.trackWidth = trackWidth;
+        this.state = new double[7];
+        this.inputs = new double[2];
+        this.integrator = new RK4(7);
+    }
+
+    public void derivative(double[] state, double[] inputs, double[] out) {
+        final double heading = state[2];
+        final double left = state[3], right = state[4];
+        final double leftForce = sideMotor.getTorque(inputs[0], left / wheelRadius * gearing) * gearing / wheelRadius;
+        final double rightForce = sideMotor.getTorque(inputs[1], right / wheelRadius * gearing) * gearing
+                / wheelRadius;
+
+        final double linearAccel = (leftForce + rightForce) / mass;
+        final double angularAccel = (rightForce - leftForce) * trackWidth / 2.0 / momentOfInertia;
+
+        final double velocity = (left + right) / 2.0;
+        out[0] = velocity * Math.cos(heading);
+        out[1] = velocity * Math.sin(heading);
+        out[2] = (right - left) / trackWidth;
+        out[3] = linearAccel - angularAccel * trackWidth / 2.0;
+        out[4] = linearAccel + angularAccel * trackWidth / 2.0;
+        out[5] = left;
+        out[6] = right;
+    }
+
+    /**
+     * Run for dt seconds with each side at its voltage
+     */
+    public void update(double leftVoltage, double rightVoltage, double dt) {
+        inputs[0] = Math.max(-DCMotor.nominalVoltage, Math.min(DCMotor.nominalVoltage, leftVoltage));
+        inputs[1] = Math.max(-DCMotor.nominalVoltage, Math.min(DCMotor.nominalVoltage, rightVoltage));
+        integrator.integrate(this, state, inputs, dt, maxStep);
+    }
+
+    public double getX() {
+        return state[0];
+    }
+
+    public double getY() {
+        return state[1];
+    }
+
+    public double getHeading() {
+        return state[2];
+    }
+
+    public double getLeftVelocity() {
+        return state[3];
+    }
+
+    public double getRightVelocity() {
+        return state[4];
+    }
+
+    public double getLeftDistance() {
+        return state[5];
+    }
+
+    public double getRightDistance() {
+        return state[6];
+    }
+
+    public double getLeftEncoderCounts() {
+        return Encoders.toCounts(state[5] / (2.0 * Math.PI * wheelRadius));
+    }
+
+    public double getRightEncoderCounts() {
+        return Encoders.toCounts(state[6] / (2.0 * Math.PI * wheelRadius));
+    }
+
+    public void reset(double x, double y, double heading) {
+        Arrays.fill(state, 0.0);
+        state[0] = x;
+        state[1] = y;
+        state[2] = heading;
+    }
+}
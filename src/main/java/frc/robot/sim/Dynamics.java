@@ -0,0 +1,11 @@
+package frc.robot.sim;
+
+/**
+ * Continuous time model of a mechanism, dx/dt = f(x, u)
+ */
+public interface Dynamics {
+    /**
+     * Write the derivative of state with inputs held into out
+     */
+    void derivative(double[] state, double[] inputs, double[] out);
+}
@@ -0,0 +1,96 @@
+package frc.robot.sim;
+
+import frc.robot.pidf.Plant;
+
+/**
+ * Carriage lifted by a motor through a gearbox and winch drum, pulled down by
+ * gravity and stopped by hard stops at each end. The encoder is on the drum.
+ */
+public class ElevatorSim implements Plant, Dynamics {
+    private static final double gravity = 9.81;
+    // Integration step, fine enough for the fastest electrical dynamics modeled
+    private static final double maxStep = 0.001;
+
+    private final DCMotor motor;
+    private final double gearing, drumRadius, mass;
+    private final double minHeight, maxHeight;
+
+    // Height in m and velocity in m/s
+    private final double[] state;
+    private final double[] inputs;
+    private final RK4 integrator;
+
+    public ElevatorSim(DCMotor motor, double gearing, double drumRadius, double mass, double minHeight,
+            double maxHeight) {
+        if (gearing <= 0.0 || drumRadius <= 0.0 || mass <= 0.0 || !(maxHeight > minHeight)) {
+            throw new IllegalArgumentException("Elevator dimensions must be positive");
+        }
+        this.motor = motor;
+        this.gearing = gearing;
+        this.drumRadius = drumRadius;
+        this.mass = mass;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+        this.state = new double[] { minHeight, 0.0 };
+        this.inputs = new double[1];
+        this.integrator = new RK4(2);
+    }
+
+    public void derivative(double[] state, double[] inputs, double[] out) {
+        final double motorSpeed = state[1] / drumRadius * gearing;
+        final double force = motor.getTorque(inputs[0], motorSpeed) * gearing / drumRadius;
+        out[0] = state[1];
+        out[1] = force / mass - gravity;
+    }
+
+    /**
+     * Run for dt seconds at voltage
+     */
+    public void update(double voltage, double dt) {
+        inputs[0] = Math.max(-DCMotor.nominalVoltage, Math.min(DCMotor.nominalVoltage, voltage));
+        integrator.integrate(this, state, inputs, dt, maxStep);
+
+        if (state[0] <= minHeight) {
+            state[0] = minHeight;
+            state[1] = Math.max(0.0, state[1]);
+        } else if (state[0] >= maxHeight) {
+            state[0] = maxHeight;
+            state[1] = Math.min(0.0, state[1]);
+        }
+    }
+
+    /**
+     * Output as a fraction of battery voltage, like a motor controller
+     */
+    public void step(double output, double dt) {
+        update(output * DCMotor.nominalVoltage, dt);
+    }
+
+    public double getMeasurement() {
+        return getHeight();
+    }
+
+    public double getHeight() {
+        return state[0];
+    }
+
+    public double getVelocity() {
+        return state[1];
+    }
+
+    public double getCurrent() {
+        return motor.getCurrent(inputs[0], state[1] / drumRadius * gearing);
+    }
+
+    /**
+     * Encoder counts of the drum since the bottom
+     */
+    public double getEncoderCounts() {
+        return Encoders.toCounts((state[0] - minHeight) / (2.0 * Math.PI * drumRadius));
+    }
+
+    public void setState(double height, double velocity) {
+        state[0] = height;
+        state[1] = velocity;
+    }
+}
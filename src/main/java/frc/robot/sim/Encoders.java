@@ -0,0 +1,13 @@
+package frc.robot.sim;
+
+public class Encoders {
+    // CTRE Mag Encoder counts per revolution
+    public static final double countsPerRevolution = 4096.0;
+
+    /**
+     * Whole encoder counts the sensor reports after turning rotations
+     */
+    public static double toCounts(double rotations) {
+        return Math.floor(rotations * countsPerRevolution);
+    }
+}
@@ -0,0 +1,55 @@
+package frc.robot.sim;
+
+/**
+ * Classic fourth order Runge-Kutta integrator with a fixed step, reusing its
+ * scratch arrays so stepping doesn't allocate
+ */
+public class RK4 {
+    private final int size;
+    private final double[] k1, k2, k3, k4, temp;
+
+    public RK4(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("State needs at least one value");
+        }
+        this.size = size;
+        this.k1 = new double[size];
+        this.k2 = new double[size];
+        this.k3 = new double[size];
+        this.k4 = new double[size];
+        this.temp = new double[size];
+    }
+
+    /**
+     * Advance state in place by dt with inputs held constant
+     */
+    public void step(Dynamics dynamics, double[] state, double[] inputs, double dt) {
+        dynamics.derivative(state, inputs, k1);
+        for (int i = 0; i < size; i++) {
+            temp[i] = state[i] + 0.5 * dt * k1[i];
+        }
+        dynamics.derivative(temp, inputs, k2);
+        for (int i = 0; i < size; i++) {
+            temp[i] = state[i] + 0.5 * dt * k2[i];
+        }
+        dynamics.derivative(temp, inputs, k3);
+        for (int i = 0; i < size; i++) {
+            temp[i] = state[i] + dt * k3[i];
+        }
+        dynamics.derivative(temp, inputs, k4);
+        for (int i = 0; i < size; i++) {
+            state[i] += dt / 6.0 * (k1[i] + 2.0 * k2[i] + 2.0 * k3[i] + k4[i]);
+        }
+    }
+
+    /**
+     * Advance by dt in equal steps no longer than maxStep
+     */
+    public void integrate(Dynamics dynamics, double[] state, double[] inputs, double dt, double maxStep) {
+        final int steps = Math.max(1, (int) Math.ceil(dt / maxStep - 1e-9));
+        final double step = dt / steps;
+        for (int i = 0; i < steps; i++) {
+            step(dynamics, state, inputs, step);
+        }
+    }
+}
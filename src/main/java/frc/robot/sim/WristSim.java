@@ -0,0 +1,102 @@
+package frc.robot.sim;
+
+import frc.robot.pidf.Plant;
+
+/**
+ * Arm rotated by a motor through a gearbox, with gravity acting on its center
+ * of mass and hard stops at each end of its travel. Angle 0 is horizontal.
+ * The encoder is on the output shaft.
+ */
+public class WristSim implements Plant, Dynamics {
+    private static final double gravity = 9.81;
+    private static final double maxStep = 0.001;
+
+    private final DCMotor motor;
+    private final double gearing, mass, centerOfMass, momentOfInertia;
+    private final double minAngle, maxAngle;
+
+    // Angle in rad and angular velocity in rad/s
+    private final double[] state;
+    private final double[] inputs;
+    private final RK4 integrator;
+
+    /**
+     * Center of mass is its distance from the pivot in m, and the moment of
+     * inertia is about the pivot
+     */
+    public WristSim(DCMotor motor, double gearing, double mass, double centerOfMass, double momentOfInertia,
+            double minAngle, double maxAngle) {
+        if (gearing <= 0.0 || mass <= 0.0 || centerOfMass < 0.0 || momentOfInertia <= 0.0
+                || !(maxAngle > minAngle)) {
+            throw new IllegalArgumentException("Wrist dimensions must be positive");
+        }
+        this.motor = motor;
+        this.gearing = gearing;
+        this.mass = mass;
+        this.centerOfMass = centerOfMass;
+        this.momentOfInertia = momentOfInertia;
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.state = new double[] { minAngle, 0.0 };
+        this.inputs = new double[1];
+        this.integrator = new RK4(2);
+    }
+
+    public void derivative(double[] state, double[] inputs, double[] out) {
+        final double torque = motor.getTorque(inputs[0], state[1] * gearing) * gearing;
+        final double gravityTorque = mass * gravity * centerOfMass * Math.cos(state[0]);
+        out[0] = state[1];
+        out[1] = (torque - gravityTorque) / momentOfInertia;
+    }
+
+    /**
+     * Run for dt seconds at voltage
+     */
+    public void update(double voltage, double dt) {
+        inputs[0] = Math.max(-DCMotor.nominalVoltage, Math.min(DCMotor.nominalVoltage, voltage));
+        integrator.integrate(this, state, inputs, dt, maxStep);
+
+        if (state[0] <= minAngle) {
+            state[0] = minAngle;
+            state[1] = Math.max(0.0, state[1]);
+        } else if (state[0] >= maxAngle) {
+            state[0] = maxAngle;
+            state[1] = Math.min(0.0, state[1]);
+        }
+    }
+
+    /**
+     * Output as a fraction of battery voltage, like a motor controller
+     */
+    public void step(double output, double dt) {
+        update(output * DCMotor.nominalVoltage, dt);
+    }
+
+    public double getMeasurement() {
+        return getAngle();
+    }
+
+    public double getAngle() {
+        return state[0];
+    }
+
+    public double getVelocity() {
+        return state[1];
+    }
+
+    public double getCurrent() {
+        return motor.getCurrent(inputs[0], state[1] * gearing);
+    }
+
+    /**
+     * Encoder counts of the output shaft since the lower hard stop
+     */
+    public double getEncoderCounts() {
+        return Encoders.toCounts((state[0] - minAngle) / (2.0 * Math.PI));
+    }
+
+    public void setState(double angle, double velocity) {
+        state[0] = angle;
+        state[1] = velocity;
+    }
+}
@@ -0,0 +1,21 @@
+package frc.robot.trajectory;
+
+/**
+ * Cubic spline matching position and heading at both ends. Curvature is not
+ * continuous between consecutive splines.
+ */
+public class CubicHermiteSpline extends Spline {
+    public CubicHermiteSpline(Pose start, Pose end) {
+        super(coefficients(start.getX(), end.getX(), Math.cos(start.getHeading()), Math.cos(end.getHeading()),
+                tangentScale * start.distance(end)),
+                coefficients(start.getY(), end.getY(), Math.sin(start.getHeading()), Math.sin(end.getHeading()),
+                        tangentScale * start.distance(end)));
+    }
+
+    private static double[] coefficients(double p0, double p1, double direction0, double direction1,
+            double tangentLength) {
+        final double m0 = direction0 * tangentLength;
+        final double m1 = direction1 * tangentLength;
+        return new double[] { p0, m0, -3 * p0 - 2 * m0 + 3 * p1 - m1, 2 * p0 + m0 - 2 * p1 + m1 };
+    }
+}
@@ -0,0 +1,66 @@
+package frc.robot.trajectory;
+
+/**
+ * Tracks the pose of a differential drive from wheel distances and a gyro
+ * heading, integrating each update as an arc
+ */
+public class Odometry {
+    private double x, y, heading;
+    private double previousLeftDistance, previousRightDistance;
+    // Difference between the gyro heading and the field heading
+    private double headingOffset;
+
+    public Odometry() {
+        reset(new Pose(0.0, 0.0, 0.0), 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Set the current pose, given the current wheel distances and gyro heading
+     */
+    public void reset(Pose pose, double leftDistance, double rightDistance, double gyroHeading) {
+        x = pose.getX();
+        y = pose.getY();
+        heading = pose.getHeading();
+        headingOffset = pose.getHeading() - gyroHeading;
+        previousLeftDistance = leftDistance;
+        previousRightDistance = rightDistance;
+    }
+
+    public void update(double leftDistance, double rightDistance, double gyroHeading) {
+        final double distance = 0.5 * ((leftDistance - previousLeftDistance) + (rightDistance - previousRightDistance));
+        previousLeftDistance = leftDistance;
+        previousRightDistance = rightDistance;
+
+        final double newHeading = gyroHeading + headingOffset;
+        final double deltaHeading = Trajectory.angleDifference(newHeading, heading);
+
+        // Chord of the arc driven since the last update, which points along the
+        // average heading
+        final double chord;
+        if (Math.abs(deltaHeading) < 1e-9) {
+            chord = distance;
+        } else {
+            chord = distance * 2 * Math.sin(deltaHeading / 2) / deltaHeading;
+        }
+        final double chordHeading = heading + deltaHeading / 2;
+        x += chord * Math.cos(chordHeading);
+        y += chord * Math.sin(chordHeading);
+        heading = newHeading;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public Pose getPose() {
+        return new Pose(x, y, heading);
+    }
+}
@@ -0,0 +1,31 @@
+package frc.robot.trajectory;
+
+/**
+ * Position on the field in meters and heading in radians, counterclockwise
+ * from the x axis
+ */
+public class Pose {
+    private final double x, y, heading;
+
+    public Pose(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double distance(Pose other) {
+        return Math.hypot(other.x - x, other.y - y);
+    }
+}
@@ -0,0 +1,23 @@
+package frc.robot.trajectory;
+
+/**
+ * Quintic spline matching position and heading at both ends, with zero
+ * curvature at each end so consecutive splines join with continuous curvature
+ */
+public class QuinticHermiteSpline extends Spline {
+    public QuinticHermiteSpline(Pose start, Pose end) {
+        super(coefficients(start.getX(), end.getX(), Math.cos(start.getHeading()), Math.cos(end.getHeading()),
+                tangentScale * start.distance(end)),
+                coefficients(start.getY(), end.getY(), Math.sin(start.getHeading()), Math.sin(end.getHeading()),
+                        tangentScale * start.distance(end)));
+    }
+
+    // Zero second derivative at both ends
+    private static double[] coefficients(double p0, double p1, double direction0, double direction1,
+            double tangentLength) {
+        final double m0 = direction0 * tangentLength;
+        final double m1 = direction1 * tangentLength;
+        return new double[] { p0, m0, 0.0, -10 * p0 - 6 * m0 + 10 * p1 - 4 * m1, 15 * p0 + 8 * m0 - 15 * p1 + 7 * m1,
+                -6 * p0 - 3 * m0 + 6 * p1 - 3 * m1 };
+    }
+}
@@ -0,0 +1,68 @@
+package frc.robot.trajectory;
+
+/**
+ * Nonlinear trajectory tracking controller for a differential drive - corrects
+ * position and heading error in the robot's frame on top of the trajectory's
+ * own velocities. Constant time, no allocation per update.
+ */
+public class RamseteController {
+    private final double b, zeta, trackWidth;
+
+    private double linearVelocity, angularVelocity;
+
+    // b sets how aggressively errors are corrected, zeta (between 0 and 1) damps
+    // the correction
+    public RamseteController(double b, double zeta, double trackWidth) {
+        this.b = b;
+        this.zeta = zeta;
+        this.trackWidth = trackWidth;
+    }
+
+    /**
+     * Update the output velocities to track desired from the current pose
+     */
+    public void calculate(double x, double y, double heading, TrajectoryState desired) {
+        final double cos = Math.cos(heading);
+        final double sin = Math.sin(heading);
+        final double deltaX = desired.getX() - x;
+        final double deltaY = desired.getY() - y;
+
+        // Error in the robot's frame - forward, to the left, and counterclockwise
+        final double forwardError = cos * deltaX + sin * deltaY;
+        final double sideError = -sin * deltaX + cos * deltaY;
+        final double headingError = Trajectory.angleDifference(desired.getHeading(), heading);
+
+        final double desiredVelocity = desired.getVelocity();
+        final double desiredAngularVelocity = desired.getAngularVelocity();
+
+        final double k = 2 * zeta
+                * Math.sqrt(desiredAngularVelocity * desiredAngularVelocity + b * desiredVelocity * desiredVelocity);
+
+        linearVelocity = desiredVelocity * Math.cos(headingError) + k * forwardError;
+        angularVelocity = desiredAngularVelocity + k * headingError
+                + b * desiredVelocity * sinc(headingError) * sideError;
+    }
+
+    private static double sinc(double x) {
+        if (Math.abs(x) < 1e-9) {
+            return 1.0 - x * x / 6.0;
+        }
+        return Math.sin(x) / x;
+    }
+
+    public double getLinearVelocity() {
+        return linearVelocity;
+    }
+
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    public double getLeftVelocity() {
+        return linearVelocity - angularVelocity * trackWidth / 2;
+    }
+
+    public double getRightVelocity() {
+        return linearVelocity + angularVelocity * trackWidth / 2;
+    }
+}
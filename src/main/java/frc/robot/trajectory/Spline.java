@@ -0,0 +1,55 @@
+package frc.robot.trajectory;
+
+/**
+ * Parametric polynomial curve from t = 0 to t = 1, stored as coefficients of x
+ * and y in increasing powers of t
+ */
+public abstract class Spline {
+    // Tangent length as a multiple of the distance between the end points
+    protected static final double tangentScale = 1.2;
+
+    private final double[] xCoefficients, yCoefficients;
+
+    protected Spline(double[] xCoefficients, double[] yCoefficients) {
+        this.xCoefficients = xCoefficients;
+        this.yCoefficients = yCoefficients;
+    }
+
+    public double getX(double t) {
+        return evaluate(xCoefficients, t, 0);
+    }
+
+    public double getY(double t) {
+        return evaluate(yCoefficients, t, 0);
+    }
+
+    public double getHeading(double t) {
+        return Math.atan2(evaluate(yCoefficients, t, 1), evaluate(xCoefficients, t, 1));
+    }
+
+    /**
+     * Signed curvature in radians per meter, positive when turning
+     * counterclockwise
+     */
+    public double getCurvature(double t) {
+        final double dx = evaluate(xCoefficients, t, 1);
+        final double dy = evaluate(yCoefficients, t, 1);
+        final double ddx = evaluate(xCoefficients, t, 2);
+        final double ddy = evaluate(yCoefficients, t, 2);
+        final double speedSquared = dx * dx + dy * dy;
+        return (dx * ddy - dy * ddx) / (speedSquared * Math.sqrt(speedSquared));
+    }
+
+    // Horner evaluation of the given derivative of the polynomial
+    private static double evaluate(double[] coefficients, double t, int derivative) {
+        double value = 0.0;
+        for (int power = coefficients.length - 1; power >= derivative; power--) {
+            double coefficient = coefficients[power];
+            for (int i = 0; i < derivative; i++) {
+                coefficient *= power - i;
+            }
+            value = value * t + coefficient;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,185 @@
+package frc.robot.trajectory;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+
+import frc.robot.utils.SampleFile;
+
+/**
+ * Time parameterized path, stored as points along the path with constant
+ * acceleration between consecutive points. Points are read from buffers, which
+ * are either heap arrays or a memory mapped trajectory file.
+ */
+public class Trajectory {
+    // "PMTJ"
+    private static final int magic = 0x504d544a;
+    private static final int limitCount = 4, columnCount = 8;
+
+    private final DoubleBuffer times, distances, xs, ys, headings, curvatures, velocities, accelerations;
+    private final TrajectoryConfig config;
+    private final int pointCount;
+    // Point found by the previous query, time usually moves forward
+    private int lastIndex;
+
+    Trajectory(double[] times, double[] distances, double[] xs, double[] ys, double[] headings,
+            double[] curvatures, double[] velocities, TrajectoryConfig config) {
+        final double[] accelerations = new double[times.length];
+        for (int i = 0; i < times.length - 1; i++) {
+            double deltaTime = times[i + 1] - times[i];
+            accelerations[i] = (deltaTime > 0.0) ? (velocities[i + 1] - velocities[i]) / deltaTime : 0.0;
+        }
+
+        this.times = DoubleBuffer.wrap(times);
+        this.distances = DoubleBuffer.wrap(distances);
+        this.xs = DoubleBuffer.wrap(xs);
+        this.ys = DoubleBuffer.wrap(ys);
+        this.headings = DoubleBuffer.wrap(headings);
+        this.curvatures = DoubleBuffer.wrap(curvatures);
+        this.velocities = DoubleBuffer.wrap(velocities);
+        this.accelerations = DoubleBuffer.wrap(accelerations);
+        this.config = config;
+        this.pointCount = times.length;
+    }
+
+    private Trajectory(SampleFile file) {
+        times = file.getColumn(0);
+        distances = file.getColumn(1);
+        xs = file.getColumn(2);
+        ys = file.getColumn(3);
+        headings = file.getColumn(4);
+        curvatures = file.getColumn(5);
+        velocities = file.getColumn(6);
+        accelerations = file.getColumn(7);
+        config = new TrajectoryConfig(file.getLimit(0), file.getLimit(1), file.getLimit(2), file.getLimit(3));
+        pointCount = file.getSampleCount();
+    }
+
+    /**
+     * Memory map a trajectory written by write, without copying its points
+     */
+    public static Trajectory load(Path path) throws IOException {
+        final SampleFile file = SampleFile.map(path, magic, limitCount, columnCount);
+        if (file.getSampleCount() < 1) {
+            throw new IOException("Empty trajectory file " + path);
+        }
+        return new Trajectory(file);
+    }
+
+    public void write(Path path) throws IOException {
+        final DoubleBuffer[] buffers = { times, distances, xs, ys, headings, curvatures, velocities,
+                accelerations };
+        final double[][] columns = new double[columnCount][pointCount];
+        for (int i = 0; i < columnCount; i++) {
+            for (int j = 0; j < pointCount; j++) {
+                columns[i][j] = buffers[i].get(j);
+            }
+        }
+        final double[] limits = { config.getMaxVelocity(), config.getMaxAccel(), config.getMaxCentripetalAccel(),
+                config.getTrackWidth() };
+        SampleFile.write(path, magic, limits, columns);
+    }
+
+    public double getDuration() {
+        return times.get(pointCount - 1);
+    }
+
+    public double getLength() {
+        return distances.get(pointCount - 1);
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public double getTrackWidth() {
+        return config.getTrackWidth();
+    }
+
+    public TrajectoryConfig getConfig() {
+        return config;
+    }
+
+    // Distance along the path to a point
+    double getDistance(int index) {
+        return distances.get(index);
+    }
+
+    public Pose getStartPose() {
+        return new Pose(xs.get(0), ys.get(0), headings.get(0));
+    }
+
+    public Pose getEndPose() {
+        final int last = pointCount - 1;
+        return new Pose(xs.get(last), ys.get(last), headings.get(last));
+    }
+
+    /**
+     * Fill out with the state of the trajectory at time, without allocating
+     */
+    public void sample(double time, TrajectoryState out) {
+        final int last = pointCount - 1;
+        final double trackWidth = config.getTrackWidth();
+        if (!(time > 0.0)) {
+            out.set(xs.get(0), ys.get(0), headings.get(0), curvatures.get(0), velocities.get(0), 0.0, trackWidth);
+            return;
+        }
+        if (time >= times.get(last)) {
+            out.set(xs.get(last), ys.get(last), headings.get(last), curvatures.get(last), 0.0, 0.0, trackWidth);
+            return;
+        }
+
+        final int i = findIndex(time);
+        final double deltaTime = time - times.get(i);
+        final double acceleration = accelerations.get(i);
+        final double startVelocity = velocities.get(i);
+        final double velocity = startVelocity + acceleration * deltaTime;
+
+        final double length = distances.get(i + 1) - distances.get(i);
+        final double travelled = (startVelocity + 0.5 * acceleration * deltaTime) * deltaTime;
+        final double fraction = (length > 0.0) ? Math.min(travelled / length, 1.0) : 0.0;
+
+        final double x = xs.get(i) + (xs.get(i + 1) - xs.get(i)) * fraction;
+        final double y = ys.get(i) + (ys.get(i + 1) - ys.get(i)) * fraction;
+        final double heading = headings.get(i) + angleDifference(headings.get(i + 1), headings.get(i)) * fraction;
+        final double curvature = curvatures.get(i) + (curvatures.get(i + 1) - curvatures.get(i)) * fraction;
+        out.set(x, y, heading, curvature, velocity, acceleration, trackWidth);
+    }
+
+    // Index of the last point at or before time, for time within the trajectory
+    private int findIndex(double time) {
+        int hint = lastIndex;
+        if (time >= times.get(hint) && time < times.get(hint + 1)) {
+            return hint;
+        }
+        hint++;
+        if (hint < pointCount - 1 && time >= times.get(hint) && time < times.get(hint + 1)) {
+            lastIndex = hint;
+            return hint;
+        }
+
+        int low = 0;
+        int high = pointCount - 2;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (times.get(middle) <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        lastIndex = low;
+        return low;
+    }
+
+    // Shortest signed angle from b to a
+    static double angleDifference(double a, double b) {
+        double difference = (a - b) % (2 * Math.PI);
+        if (difference > Math.PI) {
+            difference -= 2 * Math.PI;
+        } else if (difference < -Math.PI) {
+            difference += 2 * Math.PI;
+        }
+        return difference;
+    }
+}
@@ -0,0 +1,56 @@
+package frc.robot.trajectory;
+
+public class TrajectoryConfig {
+    public enum SplineType {
+        CUBIC, QUINTIC
+    }
+
+    private final double maxVelocity, maxAccel, maxCentripetalAccel, trackWidth;
+    private final SplineType splineType;
+    private double sampleSpacing;
+
+    public TrajectoryConfig(double maxVelocity, double maxAccel, double maxCentripetalAccel, double trackWidth) {
+        this(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth, SplineType.QUINTIC);
+    }
+
+    public TrajectoryConfig(double maxVelocity, double maxAccel, double maxCentripetalAccel, double trackWidth,
+            SplineType splineType) {
+        this.maxVelocity = maxVelocity;
+        this.maxAccel = maxAccel;
+        this.maxCentripetalAccel = maxCentripetalAccel;
+        this.trackWidth = trackWidth;
+        this.splineType = splineType;
+        this.sampleSpacing = 0.02;
+    }
+
+    /**
+     * Approximate distance in meters between trajectory points along the path
+     */
+    public void setSampleSpacing(double sampleSpacing) {
+        this.sampleSpacing = sampleSpacing;
+    }
+
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    public double getMaxAccel() {
+        return maxAccel;
+    }
+
+    public double getMaxCentripetalAccel() {
+        return maxCentripetalAccel;
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    public SplineType getSplineType() {
+        return splineType;
+    }
+
+    public double getSampleSpacing() {
+        return sampleSpacing;
+    }
+}
@@ -0,0 +1,144 @@
+package frc.robot.trajectory;
+
+import java.util.List;
+
+/**
+ * Builds a trajectory along splines through a list of poses, starting and
+ * ending at rest. Velocity along the path is limited by the max velocity, the
+ * max centripetal acceleration in turns, and keeping the outside wheel under
+ * max velocity. Driving backwards is not supported.
+ */
+public class TrajectoryGenerator {
+    // Sub-chords per spline in the table used to sample it evenly by arc length
+    private static final int lengthTableSteps = 256;
+
+    private final TrajectoryConfig config;
+
+    public TrajectoryGenerator(TrajectoryConfig config) {
+        this.config = config;
+    }
+
+    public Trajectory generate(List<Pose> waypoints) {
+        if (waypoints.size() < 2) {
+            throw new IllegalArgumentException("Trajectory needs at least two waypoints");
+        }
+
+        final Spline[] splines = new Spline[waypoints.size() - 1];
+        final double[][] lengthTables = new double[splines.length][];
+        final int[] sampleCounts = new int[splines.length];
+        int pointCount = 1;
+        for (int i = 0; i < splines.length; i++) {
+            splines[i] = createSpline(waypoints.get(i), waypoints.get(i + 1));
+            lengthTables[i] = lengthTable(splines[i]);
+            final double length = lengthTables[i][lengthTableSteps];
+            sampleCounts[i] = Math.max(2, (int) Math.ceil(length / config.getSampleSpacing()));
+            pointCount += sampleCounts[i];
+        }
+
+        final double[] distances = new double[pointCount];
+        final double[] xs = new double[pointCount];
+        final double[] ys = new double[pointCount];
+        final double[] headings = new double[pointCount];
+        final double[] curvatures = new double[pointCount];
+        final double[] velocities = new double[pointCount];
+        final double[] times = new double[pointCount];
+
+        // Points evenly spaced along each spline, sharing the end point of each
+        // spline with the start of the next
+        int index = 0;
+        for (int i = 0; i < splines.length; i++) {
+            final double[] lengths = lengthTables[i];
+            for (int sample = (i == 0) ? 0 : 1; sample <= sampleCounts[i]; sample++) {
+                final double t = (sample == sampleCounts[i]) ? 1.0
+                        : parameterAt(lengths, lengths[lengthTableSteps] * sample / sampleCounts[i]);
+                xs[index] = splines[i].getX(t);
+                ys[index] = splines[i].getY(t);
+                headings[index] = splines[i].getHeading(t);
+                curvatures[index] = splines[i].getCurvature(t);
+                if (index > 0) {
+                    distances[index] = distances[index - 1]
+                            + Math.hypot(xs[index] - xs[index - 1], ys[index] - ys[index - 1]);
+                }
+                index++;
+            }
+        }
+
+        // Velocity limit at each point from the path itself
+        final double halfTrackWidth = config.getTrackWidth() / 2;
+        for (int i = 0; i < pointCount; i++) {
+            final double curvature = Math.abs(curvatures[i]);
+            double maxVelocity = config.getMaxVelocity() / (1 + curvature * halfTrackWidth);
+            if (curvature > 0.0) {
+                maxVelocity = Math.min(maxVelocity, Math.sqrt(config.getMaxCentripetalAccel() / curvature));
+            }
+            velocities[i] = maxVelocity;
+        }
+        velocities[0] = 0.0;
+        velocities[pointCount - 1] = 0.0;
+
+        // Forward pass - accelerate as hard as allowed
+        final double maxAccel = config.getMaxAccel();
+        for (int i = 1; i < pointCount; i++) {
+            final double distance = distances[i] - distances[i - 1];
+            velocities[i] = Math.min(velocities[i],
+                    Math.sqrt(velocities[i - 1] * velocities[i - 1] + 2 * maxAccel * distance));
+        }
+        // Backward pass - leave room to slow down for every later point
+        for (int i = pointCount - 2; i >= 0; i--) {
+            final double distance = distances[i + 1] - distances[i];
+            velocities[i] = Math.min(velocities[i],
+                    Math.sqrt(velocities[i + 1] * velocities[i + 1] + 2 * maxAccel * distance));
+        }
+
+        // Constant acceleration between points
+        for (int i = 1; i < pointCount; i++) {
+            final double averageVelocity = 0.5 * (velocities[i - 1] + velocities[i]);
+            final double distance = distances[i] - distances[i - 1];
+            times[i] = times[i - 1] + ((averageVelocity > 0.0) ? distance / averageVelocity : 0.0);
+        }
+
+        return new Trajectory(times, distances, xs, ys, headings, curvatures, velocities, config);
+    }
+
+    private Spline createSpline(Pose start, Pose end) {
+        if (config.getSplineType() == TrajectoryConfig.SplineType.CUBIC) {
+            return new CubicHermiteSpline(start, end);
+        }
+        return new QuinticHermiteSpline(start, end);
+    }
+
+    // Length along the spline up to each of lengthTableSteps + 1 evenly spaced
+    // values of t
+    private static double[] lengthTable(Spline spline) {
+        final double[] lengths = new double[lengthTableSteps + 1];
+        double previousX = spline.getX(0.0);
+        double previousY = spline.getY(0.0);
+        for (int i = 1; i <= lengthTableSteps; i++) {
+            final double t = (double) i / lengthTableSteps;
+            final double x = spline.getX(t);
+            final double y = spline.getY(t);
+            lengths[i] = lengths[i - 1] + Math.hypot(x - previousX, y - previousY);
+            previousX = x;
+            previousY = y;
+        }
+        return lengths;
+    }
+
+    // Value of t where the length along the spline reaches length, interpolated
+    // between the table entries around it
+    private static double parameterAt(double[] lengths, double length) {
+        int low = 0;
+        int high = lengthTableSteps;
+        while (high - low > 1) {
+            final int middle = (low + high) >>> 1;
+            if (lengths[middle] <= length) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        final double span = lengths[high] - lengths[low];
+        final double fraction = (span > 0.0) ? Math.min(Math.max((length - lengths[low]) / span, 0.0), 1.0) : 0.0;
+        return (low + fraction) / lengthTableSteps;
+    }
+}
@@ -0,0 +1,64 @@
+package frc.robot.trajectory;
+
+/**
+ * Mutable state of a trajectory at one moment, owned by the caller so
+ * trajectories can be sampled every tick without allocating
+ */
+public class TrajectoryState {
+    private double x, y, heading, curvature;
+    private double velocity, acceleration;
+    private double leftVelocity, rightVelocity;
+
+    void set(double x, double y, double heading, double curvature, double velocity, double acceleration,
+            double trackWidth) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.curvature = curvature;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+
+        // Wheels on the outside of the turn travel further
+        this.leftVelocity = velocity * (1 - curvature * trackWidth / 2);
+        this.rightVelocity = velocity * (1 + curvature * trackWidth / 2);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getCurvature() {
+        return curvature;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * Angular velocity in radians per second, counterclockwise positive
+     */
+    public double getAngularVelocity() {
+        return velocity * curvature;
+    }
+
+    public double getLeftVelocity() {
+        return leftVelocity;
+    }
+
+    public double getRightVelocity() {
+        return rightVelocity;
+    }
+}
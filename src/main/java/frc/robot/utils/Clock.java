@@ -0,0 +1,9 @@
+package frc.robot.utils;
+
+/**
+ * Source of the current time in seconds, shared by everything updated in the
+ * same tick so they all see the same time
+ */
+public interface Clock {
+    double getTime();
+}
@@ -0,0 +1,26 @@
+package frc.robot.utils;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * FPGA time, read once per tick by update and returned unchanged until the
+ * next one
+ */
+public class FPGAClock implements Clock {
+    private volatile double time;
+
+    public FPGAClock() {
+        update();
+    }
+
+    /**
+     * Call at the start of every tick, before anything reads the time
+     */
+    public void update() {
+        time = Timer.getFPGATimestamp();
+    }
+
+    public double getTime() {
+        return time;
+    }
+}
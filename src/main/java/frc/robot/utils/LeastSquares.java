@@ -0,0 +1,131 @@
+package frc.robot.utils;
+
+import java.util.Arrays;
+
+/**
+ * Online linear least squares fit of y = b0 x0 + b1 x1 + ... over streaming
+ * samples. Only the running sums of the normal equations are kept, so memory
+ * doesn't grow with the number of samples and adding one doesn't allocate.
+ */
+public class LeastSquares {
+    private final int size;
+    // Running sums of x x^T, x y and y^2
+    private final double[] xx;
+    private final double[] xy;
+    private double yy;
+    private int count;
+
+    public LeastSquares(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Need at least one coefficient");
+        }
+        this.size = size;
+        this.xx = new double[size * size];
+        this.xy = new double[size];
+    }
+
+    public void add(double[] x, double y) {
+        if (x.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " values, got " + x.length);
+        }
+        for (int i = 0; i < size; i++) {
+            final double xi = x[i];
+            for (int j = i; j < size; j++) {
+                xx[i * size + j] += xi * x[j];
+            }
+            xy[i] += xi * y;
+        }
+        yy += y * y;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void clear() {
+        Arrays.fill(xx, 0.0);
+        Arrays.fill(xy, 0.0);
+        yy = 0.0;
+        count = 0;
+    }
+
+    /**
+     * Coefficients minimizing the squared error over every sample so far. Throws
+     * IllegalStateException if the samples don't determine them, such as when one
+     * input is always zero.
+     */
+    public double[] solve() {
+        // Gaussian elimination with partial pivoting on a copy of the normal
+        // equations, filling in the lower half from the upper
+        final double[] a = new double[size * size];
+        final double[] b = xy.clone();
+        double scale = 0.0;
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                a[i * size + j] = xx[i * size + j];
+                a[j * size + i] = xx[i * size + j];
+            }
+            scale = Math.max(scale, Math.abs(xx[i * size + i]));
+        }
+
+        for (int column = 0; column < size; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < size; row++) {
+                if (Math.abs(a[row * size + column]) > Math.abs(a[pivot * size + column])) {
+                    pivot = row;
+                }
+            }
+            if (!(Math.abs(a[pivot * size + column]) > 1e-12 * scale)) {
+                throw new IllegalStateException("Samples don't determine every coefficient");
+            }
+            if (pivot != column) {
+                for (int j = 0; j < size; j++) {
+                    final double temp = a[column * size + j];
+                    a[column * size + j] = a[pivot * size + j];
+                    a[pivot * size + j] = temp;
+                }
+                final double temp = b[column];
+                b[column] = b[pivot];
+                b[pivot] = temp;
+            }
+
+            for (int row = column + 1; row < size; row++) {
+                final double factor = a[row * size + column] / a[column * size + column];
+                for (int j = column; j < size; j++) {
+                    a[row * size + j] -= factor * a[column * size + j];
+                }
+                b[row] -= factor * b[column];
+            }
+        }
+
+        final double[] coefficients = new double[size];
+        for (int row = size - 1; row >= 0; row--) {
+            double sum = b[row];
+            for (int j = row + 1; j < size; j++) {
+                sum -= a[row * size + j] * coefficients[j];
+            }
+            coefficients[row] = sum / a[row * size + row];
+        }
+        return coefficients;
+    }
+
+    /**
+     * Root mean square error of the fit given by coefficients
+     */
+    public double getRootMeanSquareError(double[] coefficients) {
+        if (count == 0) {
+            return 0.0;
+        }
+        // Sum of (y - b.x)^2 = yy - 2 b.xy + b^T xx b
+        double squaredError = yy;
+        for (int i = 0; i < size; i++) {
+            squaredError -= 2.0 * coefficients[i] * xy[i];
+            for (int j = 0; j < size; j++) {
+                final double sum = (j >= i) ? xx[i * size + j] : xx[j * size + i];
+                squaredError += coefficients[i] * sum * coefficients[j];
+            }
+        }
+        return Math.sqrt(Math.max(0.0, squaredError) / count);
+    }
+}
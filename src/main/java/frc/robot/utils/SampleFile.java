@@ -0,0 +1,127 @@
+package frc.robot.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary file of sampled motion, laid out as
+ *
+ * <pre>
+ * header   magic (int), version (short), limit count (short),
+ *          column count (int), sample count (int)
+ * limits   limit count doubles
+ * samples  column count columns of sample count doubles each
+ * </pre>
+ *
+ * All little endian. Columns are read straight from a memory mapped file, not
+ * copied onto the heap.
+ */
+public class SampleFile {
+    public static final short version = 1;
+    private static final int headerSize = 16;
+
+    private final int sampleCount;
+    private final double[] limits;
+    private final DoubleBuffer[] columns;
+
+    private SampleFile(double[] limits, DoubleBuffer[] columns, int sampleCount) {
+        this.limits = limits;
+        this.columns = columns;
+        this.sampleCount = sampleCount;
+    }
+
+    public static void write(Path path, int magic, double[] limits, double[][] columns) throws IOException {
+        final int sampleCount = (columns.length > 0) ? columns[0].length : 0;
+        final int size = headerSize + 8 * (limits.length + columns.length * sampleCount);
+        final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(magic);
+        buffer.putShort(version);
+        buffer.putShort((short) limits.length);
+        buffer.putInt(columns.length);
+        buffer.putInt(sampleCount);
+        for (double limit : limits) {
+            buffer.putDouble(limit);
+        }
+        for (double[] column : columns) {
+            if (column.length != sampleCount) {
+                throw new IllegalArgumentException("Every column needs the same number of samples");
+            }
+            for (double sample : column) {
+                buffer.putDouble(sample);
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Map a file written with the given magic number, checking its version and
+     * layout
+     */
+    public static SampleFile map(Path path, int magic, int limitCount, int columnCount) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < headerSize) {
+                throw new IOException("Truncated sample file " + path);
+            }
+            // Mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt(0) != magic) {
+            throw new IOException("Wrong file type " + path);
+        }
+        final short fileVersion = buffer.getShort(4);
+        if (fileVersion != version) {
+            throw new IOException("Unsupported sample file version " + fileVersion + " in " + path);
+        }
+        if (buffer.getShort(6) != limitCount || buffer.getInt(8) != columnCount) {
+            throw new IOException("Unexpected layout in " + path);
+        }
+        final int sampleCount = buffer.getInt(12);
+        final long expectedSize = headerSize + 8L * (limitCount + (long) columnCount * sampleCount);
+        if (sampleCount < 0 || buffer.capacity() != expectedSize) {
+            throw new IOException("Truncated sample file " + path);
+        }
+
+        final double[] limits = new double[limitCount];
+        for (int i = 0; i < limitCount; i++) {
+            limits[i] = buffer.getDouble(headerSize + 8 * i);
+        }
+
+        final DoubleBuffer[] columns = new DoubleBuffer[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            buffer.position(headerSize + 8 * (limitCount + i * sampleCount));
+            final ByteBuffer column = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            column.limit(8 * sampleCount);
+            columns[i] = column.asDoubleBuffer();
+        }
+        return new SampleFile(limits, columns, sampleCount);
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public double getLimit(int index) {
+        return limits[index];
+    }
+
+    public DoubleBuffer getColumn(int index) {
+        return columns[index];
+    }
+}
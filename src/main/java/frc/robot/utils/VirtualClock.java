@@ -0,0 +1,31 @@
+package frc.robot.utils;
+
+/**
+ * Clock that only moves when told to, for simulations and tests
+ */
+public class VirtualClock implements Clock {
+    private double time;
+
+    public VirtualClock() {
+        this(0.0);
+    }
+
+    public VirtualClock(double time) {
+        this.time = time;
+    }
+
+    public void advance(double dt) {
+        if (dt < 0.0) {
+            throw new IllegalArgumentException("Time can't go backwards");
+        }
+        time += dt;
+    }
+
+    public void setTime(double time) {
+        this.time = time;
+    }
+
+    public double getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,152 @@
+package frc.robot.hardware;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.components.Drivetrain;
+import frc.robot.components.ManualElevator;
+import frc.robot.components.ProfiledElevator;
+import frc.robot.utils.VirtualClock;
+
+public class MockMotorTest {
+    @Test
+    public void recordsCommands() {
+        MockMotor motor = new MockMotor(new MockCanBus(0.0, false), 4);
+        Assert.assertEquals(0, motor.getCommands().length);
+
+        motor.set(0.1);
+        motor.set(0.2);
+        Assert.assertArrayEquals(new double[] { 0.1, 0.2 }, motor.getCommands(), 0.0);
+
+        for (int i = 3; i <= 6; i++) {
+            motor.set(i * 0.1);
+        }
+        // Only the most recent commands are kept
+        Assert.assertEquals(6, motor.getCommandCount());
+        Assert.assertArrayEquals(new double[] { 0.3, 0.4, 0.5, 0.6 }, motor.getCommands(), 1e-12);
+        Assert.assertEquals(0.6, motor.get(), 1e-12);
+        Assert.assertEquals(0.6, motor.getOutput(), 1e-12);
+    }
+
+    @Test
+    public void sensor() {
+        MockMotor motor = new MockMotor(new MockCanBus(0.0, false));
+        motor.setSensor(4096.0, 100.0);
+        Assert.assertEquals(4096.0, motor.getPosition(), 0.0);
+        Assert.assertEquals(100.0, motor.getVelocity(), 0.0);
+
+        motor.setPosition(0.0);
+        Assert.assertEquals(0.0, motor.getPosition(), 0.0);
+        Assert.assertEquals(0, motor.getCommandCount());
+    }
+
+    @Test
+    public void countsCallsOnTheBus() {
+        MockCanBus bus = new MockCanBus(0.001, false);
+        MockMotor left = new MockMotor(bus), right = new MockMotor(bus);
+        left.set(0.5);
+        right.set(-0.5);
+        left.getPosition();
+        right.getVelocity();
+        left.get();
+        // Reading back what the test set doesn't go over the bus
+        left.getOutput();
+        left.getCommands();
+        left.setSensor(1.0, 1.0);
+
+        Assert.assertEquals(5, bus.getCallCount());
+        Assert.assertEquals(0.005, bus.getSimulatedLatency(), 1e-12);
+
+        bus.reset();
+        Assert.assertEquals(0, bus.getCallCount());
+        Assert.assertEquals(0.0, bus.getSimulatedLatency(), 0.0);
+    }
+
+    @Test
+    public void spinsForLatency() {
+        MockCanBus bus = new MockCanBus(0.001, true);
+        MockMotor motor = new MockMotor(bus);
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            motor.set(0.0);
+        }
+        Assert.assertTrue((System.nanoTime() - start) / 1e9 >= 0.02);
+    }
+
+    @Test
+    public void stopsWhenNotFed() {
+        VirtualClock clock = new VirtualClock();
+        MockMotor motor = new MockMotor(new MockCanBus(0.0, false));
+        motor.enableSafety(0.1, clock);
+
+        motor.set(0.5);
+        clock.advance(0.05);
+        motor.set(0.6);
+        clock.advance(0.08);
+        // Fed within the expiration
+        Assert.assertEquals(0.6, motor.getOutput(), 0.0);
+
+        clock.advance(0.03);
+        Assert.assertEquals(0.0, motor.getOutput(), 0.0);
+        Assert.assertEquals(0.0, motor.get(), 0.0);
+        Assert.assertArrayEquals(new double[] { 0.5, 0.6, 0.0 }, motor.getCommands(), 0.0);
+
+        // Runs again once set
+        motor.set(0.3);
+        Assert.assertEquals(0.3, motor.getOutput(), 0.0);
+    }
+
+    @Test
+    public void drivetrainStopsWhenNotFed() {
+        VirtualClock clock = new VirtualClock();
+        MockCanBus bus = new MockCanBus(0.0, false);
+        MockMotor left = new MockMotor(bus), right = new MockMotor(bus);
+        left.enableSafety(0.1, clock);
+        right.enableSafety(0.1, clock);
+        Drivetrain drivetrain = new Drivetrain(left, left, right, right, new MockGyro(), clock);
+
+        for (int i = 0; i < 10; i++) {
+            drivetrain.arcadeDrive(0.8, 0.2);
+            clock.advance(0.02);
+        }
+        Assert.assertTrue(left.getOutput() > 0.0);
+        Assert.assertTrue(right.getOutput() < 0.0);
+
+        // Main loop stalls
+        clock.advance(0.2);
+        Assert.assertEquals(0.0, left.getOutput(), 0.0);
+        Assert.assertEquals(0.0, right.getOutput(), 0.0);
+    }
+
+    @Test
+    public void elevatorPositionMatchesIntegerCounts() {
+        MockMotor winch = new MockMotor(new MockCanBus(0.0, false));
+        ManualElevator manual = new ManualElevator(winch, winch, new MockLimitSwitch());
+        ProfiledElevator profiled = new ProfiledElevator(winch, winch, new MockLimitSwitch(), new VirtualClock());
+
+        // Talons report whole counts, divided as ints into whole revolutions
+        for (int counts = -5 * 4096; counts <= 5 * 4096; counts += 4096) {
+            winch.setSensor(counts, 0.0);
+            Assert.assertEquals(counts / -4096, manual.getPosition(), 0.0);
+            Assert.assertEquals(counts / -4096, profiled.getPosition(), 0.0);
+        }
+
+        // In between, still truncated toward zero
+        winch.setSensor(6144, 0.0);
+        Assert.assertEquals(-1.0, manual.getPosition(), 0.0);
+        Assert.assertEquals(-1.0, profiled.getPosition(), 0.0);
+        winch.setSensor(-53247, 0.0);
+        Assert.assertEquals(12.0, manual.getPosition(), 0.0);
+        Assert.assertEquals(12.0, profiled.getPosition(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyHistory() {
+        new MockMotor(new MockCanBus(0.0, false), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeLatency() {
+        new MockCanBus(-0.001, false);
+    }
+}
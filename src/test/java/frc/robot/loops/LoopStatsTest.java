@@ -0,0 +1,37 @@
+package frc.robot.loops;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoopStatsTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void recordsTiming() {
+        LoopStats stats = new LoopStats("Test", 0.005);
+        stats.record(0.000, 0.001);
+        stats.record(0.005, 0.007);
+        // Late start, and longer than the period
+        stats.record(0.0115, 0.018);
+        stats.record(0.0165, 0.0170);
+
+        Assert.assertEquals(4, stats.getCount());
+        Assert.assertEquals(1, stats.getOverruns());
+        Assert.assertEquals((0.001 + 0.002 + 0.0065 + 0.0005) / 4, stats.getAverageDuration(), epsilon);
+        Assert.assertEquals(0.0065, stats.getMaxDuration(), epsilon);
+        Assert.assertEquals(0.0015, stats.getMaxJitter(), epsilon);
+    }
+
+    @Test
+    public void reset() {
+        LoopStats stats = new LoopStats("Test", 0.005);
+        stats.record(0.0, 0.01);
+        stats.reset();
+        // No jitter from the gap since before the reset
+        stats.record(10.0, 10.001);
+        Assert.assertEquals(1, stats.getCount());
+        Assert.assertEquals(0, stats.getOverruns());
+        Assert.assertEquals(0.0, stats.getMaxJitter(), 0.0);
+        Assert.assertEquals(0.001, stats.getAverageDuration(), epsilon);
+    }
+}
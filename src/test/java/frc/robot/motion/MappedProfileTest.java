@@ -0,0 +1,93 @@
+package frc.robot.motion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedProfileTest {
+    private Path path;
+
+    @Before
+    public void createFile() throws IOException {
+        path = Files.createTempFile("profile", ".bin");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        StaticProfile profile = new StaticProfile(0.5, 1.0, 12.0, 3.0, 1.0, 1.5);
+        MappedProfile.write(profile, new ProfileLimits(3.0, 1.0, 1.5), 0.01, path);
+        MappedProfile mapped = MappedProfile.load(path);
+
+        Assert.assertEquals(profile.getDuration(), mapped.getDuration(), 0.0);
+        Assert.assertEquals(3.0, mapped.getLimits().getMaxVelocity(), 0.0);
+        Assert.assertEquals(1.0, mapped.getLimits().getMaxAccel(), 0.0);
+        Assert.assertEquals(1.5, mapped.getLimits().getMaxDecel(), 0.0);
+
+        // Same interpolation as a baked profile with the same step
+        StaticProfile baked = new StaticProfile(0.5, 1.0, 12.0, 3.0, 1.0, 1.5, 0.01);
+        ProfileState expected = new ProfileState();
+        ProfileState actual = new ProfileState();
+        for (double time = -0.1; time < profile.getDuration() + 0.1; time += 0.0037) {
+            baked.sample(time, expected);
+            mapped.sample(time, actual);
+            Assert.assertEquals(expected.getPosition(), actual.getPosition(), 1e-12);
+            Assert.assertEquals(expected.getVelocity(), actual.getVelocity(), 1e-12);
+            Assert.assertEquals(expected.getAcceleration(), actual.getAcceleration(), 1e-12);
+        }
+        for (double time = 0.0; time < profile.getDuration() + 0.1; time += 0.0037) {
+            Assert.assertEquals(profile.getPosition(time), mapped.getPosition(time), 1e-4);
+            Assert.assertEquals(profile.getVelocity(time), mapped.getVelocity(time), 1.5 * 0.01);
+        }
+    }
+
+    @Test
+    public void fileSize() throws IOException {
+        StaticProfile profile = new StaticProfile(0.0, 0.0, 4.0, 2.0, 1.0, 1.0);
+        MappedProfile.write(profile, new ProfileLimits(2.0, 1.0, 1.0), 0.02, path);
+        int samples = (int) Math.ceil(profile.getDuration() / 0.02) + 1;
+        // Header, limits, and three columns
+        Assert.assertEquals(16 + 8 * 5 + 3 * 8 * samples, Files.size(path));
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongVersion() throws IOException {
+        MappedProfile.write(new StaticProfile(0.0, 0.0, 4.0, 2.0, 1.0, 1.0), new ProfileLimits(2.0, 1.0, 1.0),
+                0.02, path);
+        ByteBuffer version = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort((short) 99);
+        version.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(version, 4);
+        }
+        MappedProfile.load(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncated() throws IOException {
+        MappedProfile.write(new StaticProfile(0.0, 0.0, 4.0, 2.0, 1.0, 1.0), new ProfileLimits(2.0, 1.0, 1.0),
+                0.02, path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+        MappedProfile.load(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void notAProfile() throws IOException {
+        Files.write(path, new byte[64]);
+        MappedProfile.load(path);
+    }
+}
@@ -0,0 +1,146 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiAxisProfileTest {
+    private static final double epsilon = 1e-6;
+
+    private static final ProfileLimits fast = new ProfileLimits(4.0, 2.0, 2.0);
+    private static final ProfileLimits slow = new ProfileLimits(1.0, 0.5, 1.0);
+
+    // Checks every axis starts and ends at rest on its positions, finishes at the
+    // end of the profile and stays within its own limits
+    private static void checkProfile(MultiAxisProfile profile, double[] starts, double[] targets,
+            ProfileLimits[] limits) {
+        ProfileState state = new ProfileState();
+        for (int axis = 0; axis < profile.getAxisCount(); axis++) {
+            Assert.assertEquals(starts[axis], profile.getPosition(axis, 0.0), epsilon);
+            Assert.assertEquals(targets[axis], profile.getPosition(axis, profile.getDuration()), epsilon);
+
+            double step = 0.001;
+            for (double time = 0.0; time < profile.getDuration() + 0.1; time += step) {
+                profile.sample(axis, time, state);
+                Assert.assertTrue(Math.abs(state.getVelocity()) <= limits[axis].getMaxVelocity() + epsilon);
+                Assert.assertTrue(Math.abs(state.getAcceleration()) <= Math.max(limits[axis].getMaxAccel(),
+                        limits[axis].getMaxDecel()) + epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void scaledLimitsScaleDuration() {
+        StaticProfile profile = new StaticProfile(0.0, 0.0, 10.0, 2.0, 1.0, 0.5);
+        ProfileLimits limits = new ProfileLimits(2.0, 1.0, 0.5).scaled(0.4);
+        StaticProfile scaled = new StaticProfile(0.0, 0.0, 10.0, limits.getMaxVelocity(), limits.getMaxAccel(),
+                limits.getMaxDecel());
+        Assert.assertEquals(profile.getDuration() / 0.4, scaled.getDuration(), epsilon);
+    }
+
+    @Test
+    public void finishTogether() {
+        double[] starts = { 0.0, 5.0, 2.0 };
+        double[] targets = { 10.0, -3.0, 2.5 };
+        ProfileLimits[] limits = { fast, slow, fast };
+        MultiAxisProfile profile = new MultiAxisProfile(starts, targets, limits);
+
+        // Slow axis sets the duration
+        double slowest = new StaticProfile(0.0, 5.0, -3.0, 1.0, 0.5, 1.0).getDuration();
+        Assert.assertEquals(slowest, profile.getDuration(), epsilon);
+
+        for (int axis = 0; axis < 3; axis++) {
+            Assert.assertEquals(0.0, profile.getStartDelay(axis), 0.0);
+            // Every axis is still moving just before the end
+            Assert.assertNotEquals(0.0, profile.getVelocity(axis, profile.getDuration() - 0.05), 0.0);
+        }
+        checkProfile(profile, starts, targets, limits);
+    }
+
+    @Test
+    public void stationaryAxis() {
+        double[] starts = { 0.0, 1.0 };
+        double[] targets = { 3.0, 1.0 };
+        ProfileLimits[] limits = { fast, slow };
+        MultiAxisProfile profile = new MultiAxisProfile(starts, targets, limits);
+        checkProfile(profile, starts, targets, limits);
+    }
+
+    @Test
+    public void delaysForConstraint() {
+        // Axis 0 must stay at or below 0.5 until axis 1 is past 3
+        MultiAxisProfile.Constraint constraint = (double[] positions) -> {
+            return positions[0] <= 0.5 || positions[1] >= 3.0;
+        };
+        double[] starts = { 0.0, 0.0 };
+        double[] targets = { 3.0, 8.0 };
+        ProfileLimits[] limits = { fast, slow };
+
+        MultiAxisProfile unconstrained = new MultiAxisProfile(starts, targets, limits);
+        MultiAxisProfile profile = new MultiAxisProfile(starts, targets, limits, constraint);
+
+        Assert.assertTrue(profile.getStartDelay(0) > 0.0);
+        Assert.assertEquals(0.0, profile.getStartDelay(1), 0.0);
+        // Fast axis can still catch up, so the move takes no longer
+        Assert.assertEquals(unconstrained.getDuration(), profile.getDuration(), epsilon);
+
+        // Constraint is checked every 10ms
+        double[] positions = new double[2];
+        for (int step = 0; step * 0.01 <= profile.getDuration(); step++) {
+            double time = step * 0.01;
+            positions[0] = profile.getPosition(0, time);
+            positions[1] = profile.getPosition(1, time);
+            Assert.assertTrue(constraint.isAllowed(positions));
+        }
+        checkProfile(profile, starts, targets, limits);
+    }
+
+    @Test
+    public void sequentialWhenNeeded() {
+        // Axis 1 can only move while axis 0 is at 0, and axis 0 has to end at 1
+        MultiAxisProfile.Constraint constraint = (double[] positions) -> {
+            return positions[0] <= epsilon || positions[1] >= 2.0 - epsilon;
+        };
+        double[] starts = { 0.0, 0.0 };
+        double[] targets = { 1.0, 2.0 };
+        ProfileLimits[] limits = { fast, fast };
+        MultiAxisProfile profile = new MultiAxisProfile(starts, targets, limits, constraint);
+
+        double first = new StaticProfile(0.0, 0.0, 1.0, 4.0, 2.0, 2.0).getDuration();
+        double second = new StaticProfile(0.0, 0.0, 2.0, 4.0, 2.0, 2.0).getDuration();
+        Assert.assertTrue(profile.getStartDelay(0) >= second - epsilon);
+        Assert.assertEquals(first + second, profile.getDuration(), 0.03);
+        // Held back axis finishes last
+        Assert.assertEquals(targets[1], profile.getPosition(1, second), epsilon);
+        checkProfile(profile, starts, targets, limits);
+    }
+
+    @Test
+    public void longMoveSearchIsBounded() {
+        // Same sequential move as above, stretched out to take 20 seconds
+        long[] checks = new long[1];
+        MultiAxisProfile.Constraint constraint = (double[] positions) -> {
+            checks[0]++;
+            return positions[0] <= epsilon || positions[1] >= 20.0 - epsilon;
+        };
+        ProfileLimits crawl = new ProfileLimits(1.0, 10.0, 10.0);
+        double[] starts = { 0.0, 0.0 };
+        double[] targets = { 1.0, 20.0 };
+        ProfileLimits[] limits = { crawl, crawl };
+        MultiAxisProfile profile = new MultiAxisProfile(starts, targets, limits, constraint);
+
+        double longest = new StaticProfile(0.0, 0.0, 20.0, 1.0, 10.0, 10.0).getDuration();
+        Assert.assertTrue(profile.getStartDelay(0) >= longest - epsilon);
+        // At most 100 delays per axis, each checked every 10ms over at most twice
+        // the longest move
+        Assert.assertTrue(checks[0] <= 2 * 100 * ((long) Math.ceil(2 * longest / 0.01) + 1) + 1000);
+        checkProfile(profile, starts, targets, limits);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void impossibleConstraint() {
+        MultiAxisProfile.Constraint constraint = (double[] positions) -> {
+            return positions[0] < 5.0;
+        };
+        new MultiAxisProfile(new double[] { 0.0 }, new double[] { 6.0 }, new ProfileLimits[] { fast }, constraint);
+    }
+}
@@ -0,0 +1,126 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OnlineProfileGeneratorTest {
+    private static final double epsilon = 1e-6;
+    private static final double dt = 0.02;
+
+    private static final double maxVelocity = 4.0, maxAccel = 2.0, maxDecel = 1.0;
+
+    // Runs the generator until it settles on target, checking limits every tick,
+    // and returns the number of ticks taken
+    private static int run(OnlineProfileGenerator generator, ProfileState state, double target, int maxTicks) {
+        ProfileState next = new ProfileState();
+        for (int tick = 0; tick < maxTicks; tick++) {
+            if (state.getPosition() == target && state.getVelocity() == 0.0) {
+                return tick;
+            }
+            generator.calculate(state, target, dt, next);
+
+            double deltaVelocity = next.getVelocity() - state.getVelocity();
+            Assert.assertTrue(Math.abs(deltaVelocity) <= Math.max(maxAccel, maxDecel) * dt + epsilon);
+            Assert.assertTrue(
+                    Math.abs(next.getVelocity()) <= Math.max(maxVelocity, Math.abs(state.getVelocity())) + epsilon);
+            Assert.assertEquals(deltaVelocity / dt, next.getAcceleration(), epsilon);
+
+            state.set(next.getPosition(), next.getVelocity(), next.getAcceleration());
+        }
+        Assert.fail("Did not reach target");
+        return maxTicks;
+    }
+
+    @Test
+    public void matchesStaticProfile() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        StaticProfile profile = new StaticProfile(0.0, 0.0, 16.0, maxVelocity, maxAccel, maxDecel);
+
+        ProfileState state = new ProfileState();
+        ProfileState expected = new ProfileState();
+        for (int tick = 1; tick * dt < profile.getDuration() - dt; tick++) {
+            generator.calculate(state, 16.0, dt, state);
+            profile.sample(tick * dt, expected);
+            Assert.assertEquals(expected.getPosition(), state.getPosition(), 0.05);
+            Assert.assertEquals(expected.getVelocity(), state.getVelocity(), 2 * maxAccel * dt);
+        }
+
+        int ticks = run(generator, state, 16.0, 100);
+        Assert.assertTrue(ticks <= 3);
+    }
+
+    @Test
+    public void restToRest() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState(1.0, 0.0, 0.0);
+        int ticks = run(generator, state, -2.0, 1000);
+
+        // Triangular profile, never passes the target
+        double duration = Math.sqrt(2 * 3.0 * (maxAccel + maxDecel) / (maxAccel * maxDecel));
+        Assert.assertEquals(duration, ticks * dt, 3 * dt);
+        Assert.assertEquals(-2.0, state.getPosition(), 0.0);
+    }
+
+    @Test
+    public void noOvershoot() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState();
+        ProfileState next = new ProfileState();
+        for (int tick = 0; tick < 1000; tick++) {
+            generator.calculate(state, 7.3, dt, next);
+            Assert.assertTrue(next.getPosition() <= 7.3);
+            Assert.assertTrue(next.getVelocity() >= 0.0);
+            state.set(next.getPosition(), next.getVelocity(), next.getAcceleration());
+        }
+        Assert.assertEquals(7.3, state.getPosition(), 0.0);
+    }
+
+    @Test
+    public void retargetMidMotion() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState();
+        for (int tick = 0; tick < 150; tick++) {
+            generator.calculate(state, 30.0, dt, state);
+        }
+        Assert.assertEquals(maxVelocity, state.getVelocity(), epsilon);
+
+        // Reverse while at full speed - run() checks velocity never jumps
+        run(generator, state, 0.0, 2000);
+        Assert.assertEquals(0.0, state.getPosition(), 0.0);
+    }
+
+    @Test
+    public void startMovingAway() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState(0.5, -1.0, 0.0);
+        run(generator, state, 16.0, 2000);
+        Assert.assertEquals(16.0, state.getPosition(), 0.0);
+    }
+
+    @Test
+    public void startAboveMaxVelocity() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState(0.0, 6.0, 0.0);
+        run(generator, state, 40.0, 2000);
+        Assert.assertEquals(40.0, state.getPosition(), 0.0);
+    }
+
+    @Test
+    public void holdsAtTarget() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState(3.0, 0.0, 0.0);
+        generator.calculate(state, 3.0, dt, state);
+        Assert.assertEquals(3.0, state.getPosition(), 0.0);
+        Assert.assertEquals(0.0, state.getVelocity(), 0.0);
+        Assert.assertEquals(0.0, state.getAcceleration(), 0.0);
+    }
+
+    @Test
+    public void zeroTimeStep() {
+        OnlineProfileGenerator generator = new OnlineProfileGenerator(maxVelocity, maxAccel, maxDecel);
+        ProfileState state = new ProfileState(1.0, 2.0, 0.5);
+        generator.calculate(state, 3.0, 0.0, state);
+        Assert.assertEquals(1.0, state.getPosition(), 0.0);
+        Assert.assertEquals(2.0, state.getVelocity(), 0.0);
+    }
+}
@@ -0,0 +1,121 @@
+package frc.robot.motion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProfileCacheTest {
+    private static final ProfileLimits limits = new ProfileLimits(3.0, 1.0, 1.0);
+
+    @Test
+    public void repeatedMoveHits() {
+        ProfileCache cache = new ProfileCache(4, 0.01, 0.05);
+        StaticProfile first = cache.get(0.0, 0.0, 12.0, limits);
+        StaticProfile second = cache.get(0.01, 0.002, 12.0, limits);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void matchesUncachedProfile() {
+        ProfileCache cache = new ProfileCache(4, 0.01, 0.05);
+        StaticProfile cached = cache.get(0.5, 4.0, 12.0, limits);
+        StaticProfile profile = new StaticProfile(0.5, 4.0, 12.0, 3.0, 1.0, 1.0);
+
+        Assert.assertEquals(profile.getDuration(), cached.getDuration(), 1e-9);
+        for (double time = 0.0; time < profile.getDuration(); time += 0.1) {
+            Assert.assertEquals(profile.getPosition(time), cached.getPosition(time), 1e-9);
+        }
+    }
+
+    @Test
+    public void exactOnPresets() {
+        ProfileCache cache = new ProfileCache(4, 0.01, 0.05);
+        double[] presets = { 0.0, 4.0, 12.0 };
+        for (double start : presets) {
+            for (double target : presets) {
+                StaticProfile profile = cache.getExact(0.0, start, target, limits);
+                Assert.assertSame(profile, cache.getExact(0.0, start, target, limits));
+                Assert.assertEquals(start, profile.getPosition(0.0), 0.0);
+            }
+        }
+        Assert.assertEquals(9, cache.getHits());
+    }
+
+    @Test
+    public void chainedMovesHit() {
+        // Each move starts from where the previous one really ended
+        ProfileCache cache = new ProfileCache(8, 0.01, 0.05);
+        double[] targets = { 4.0, 12.0, 4.0, 0.0, 12.0, 0.0, 4.0, 12.0, 4.0 };
+        ProfileState state = new ProfileState();
+        for (int round = 0; round < 2; round++) {
+            for (double target : targets) {
+                StaticProfile profile = cache.getExact(state.getVelocity(), state.getPosition(), target, limits);
+                profile.sample(profile.getDuration(), state);
+                Assert.assertEquals(target, state.getPosition(), 0.0);
+                Assert.assertEquals(0.0, state.getVelocity(), 0.0);
+            }
+        }
+        // Only the first of each distinct move misses, including staying at 4 when
+        // the second round starts
+        Assert.assertEquals(7, cache.getMisses());
+        Assert.assertEquals(2 * targets.length - 7, cache.getHits());
+    }
+
+    @Test
+    public void exactOffGrid() {
+        ProfileCache cache = new ProfileCache(4, 0.01, 0.05);
+        StaticProfile profile = cache.getExact(0.01, 0.002, 12.0, limits);
+        // Starts where asked instead of at the rounded key
+        Assert.assertEquals(0.002, profile.getPosition(0.0), 0.0);
+        Assert.assertEquals(0.01, profile.getVelocity(0.0), 1e-12);
+        Assert.assertNotSame(profile, cache.getExact(0.01, 0.002, 12.0, limits));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void distinctKeys() {
+        ProfileCache cache = new ProfileCache(8, 0.01, 0.05);
+        StaticProfile profile = cache.get(0.0, 0.0, 12.0, limits);
+        Assert.assertNotSame(profile, cache.get(0.0, 0.0, 4.0, limits));
+        Assert.assertNotSame(profile, cache.get(0.0, 4.0, 12.0, limits));
+        Assert.assertNotSame(profile, cache.get(1.0, 0.0, 12.0, limits));
+        Assert.assertNotSame(profile, cache.get(0.0, 0.0, 12.0, new ProfileLimits(3.0, 1.0, 2.0)));
+        Assert.assertEquals(5, cache.getMisses());
+        Assert.assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ProfileCache cache = new ProfileCache(2, 0.01, 0.05);
+        StaticProfile bottom = cache.get(0.0, 4.0, 0.0, limits);
+        cache.get(0.0, 0.0, 4.0, limits);
+        // Use bottom again so the move to 4 is the oldest
+        cache.get(0.0, 4.0, 0.0, limits);
+        cache.get(0.0, 0.0, 12.0, limits);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertSame(bottom, cache.get(0.0, 4.0, 0.0, limits));
+        long misses = cache.getMisses();
+        cache.get(0.0, 0.0, 4.0, limits);
+        Assert.assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    public void clear() {
+        ProfileCache cache = new ProfileCache(2, 0.01, 0.05);
+        cache.get(0.0, 0.0, 4.0, limits);
+        cache.get(0.0, 0.0, 4.0, limits);
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(0, cache.getMisses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacity() {
+        new ProfileCache(0, 0.01, 0.05);
+    }
+}
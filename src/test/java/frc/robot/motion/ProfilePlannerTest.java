@@ -0,0 +1,75 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProfilePlannerTest {
+    private final ProfilePlanner planner = new ProfilePlanner();
+
+    @After
+    public void shutdown() {
+        planner.shutdown();
+    }
+
+    @Test
+    public void plansInBackground() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Profile> future = planner.submit(() -> {
+            release.await();
+            return new StaticProfile(0.0, 0.0, 10.0, 2.0, 1.0, 1.0);
+        });
+
+        // Pending until the planner is allowed to finish
+        Assert.assertNull(ProfilePlanner.getIfDone(future));
+        Assert.assertNull(ProfilePlanner.getIfDone(future));
+
+        release.countDown();
+        future.get(1, TimeUnit.SECONDS);
+        Profile profile = ProfilePlanner.getIfDone(future);
+        Assert.assertNotNull(profile);
+        Assert.assertEquals(10.0, profile.getPosition(profile.getDuration()), 1e-9);
+    }
+
+    @Test
+    public void planningTimeStaysOffCallingThread() throws Exception {
+        Future<Integer> future = planner.submit(() -> {
+            Thread.sleep(50);
+            return 1;
+        });
+        future.get(1, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, planner.getPlanCount());
+        Assert.assertTrue(planner.getMaxPlanTime() >= 0.05);
+        Assert.assertEquals(planner.getMaxPlanTime(), planner.getAveragePlanTime(), 1e-9);
+        // Handing off is far quicker than the plan itself
+        Assert.assertTrue(planner.getMaxSubmitTime() < 0.01);
+    }
+
+    @Test
+    public void daemonThread() throws Exception {
+        Future<Boolean> daemon = planner.submit(() -> {
+            return Thread.currentThread().isDaemon();
+        });
+        Assert.assertTrue(daemon.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failedPlan() throws Exception {
+        Future<Profile> future = planner.submit(() -> {
+            return new WaypointProfile(0.0, 0.0, new ArrayList<Waypoint>(), 1.0, 1.0, 1.0);
+        });
+        try {
+            future.get(1, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // Reported through getIfDone
+        }
+        ProfilePlanner.getIfDone(future);
+    }
+}
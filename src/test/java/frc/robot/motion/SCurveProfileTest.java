@@ -0,0 +1,238 @@
+package frc.robot.motion;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import frc.robot.utils.Plot;
+
+public class SCurveProfileTest {
+    private static final double epsilon = 1e-6;
+    private static final double step = 0.001;
+
+    private static Boolean shouldGraph() {
+        String graphProp = System.getProperty("graph").toLowerCase();
+        return (graphProp.equals("profile") || graphProp.equals("all") || graphProp.equals("a"));
+    }
+
+    private static void plotProfile(SCurveProfile profile, String name) {
+        if (shouldGraph()) {
+            Plot profilePlot = new Plot(name, profile::getVelocity, profile.getDuration(), "Velocity", 0.025);
+            profilePlot.addSeries(profile::getPosition, "Position", 0.025);
+            profilePlot.addSeries(profile::getAcceleration, "Acceleration", 0.025);
+            profilePlot.addSeries(profile::getJerk, "Jerk", 0.025);
+
+            profilePlot.savePlot("./graphs/scurve/");
+        }
+    }
+
+    // Checks the profile reaches the target, stays continuous in velocity and
+    // acceleration, and respects all limits except where the start state already
+    // exceeds them
+    private static void checkInvariants(SCurveProfile profile, double startVelocity, double startPosition,
+            double target, double maxVelocity, double maxAccel, double maxDecel, double maxJerk) {
+        ProfileState state = new ProfileState();
+        profile.sample(0.0, state);
+        Assert.assertEquals(startPosition, state.getPosition(), epsilon);
+        Assert.assertEquals(startVelocity, state.getVelocity(), epsilon);
+        Assert.assertEquals(0.0, state.getAcceleration(), epsilon);
+
+        double previousVelocity = state.getVelocity();
+        double previousAcceleration = state.getAcceleration();
+        double speedLimit = Math.max(maxVelocity, Math.abs(startVelocity));
+        for (double time = step; time < profile.getDuration() + 0.1; time += step) {
+            profile.sample(time, state);
+            Assert.assertTrue(Math.abs(state.getVelocity()) <= speedLimit + epsilon);
+            Assert.assertTrue(Math.abs(state.getAcceleration()) <= Math.max(maxAccel, maxDecel) + epsilon);
+            Assert.assertEquals(previousAcceleration, state.getAcceleration(), maxJerk * step + epsilon);
+            Assert.assertEquals(previousVelocity, state.getVelocity(), Math.max(maxAccel, maxDecel) * step + epsilon);
+            previousVelocity = state.getVelocity();
+            previousAcceleration = state.getAcceleration();
+        }
+
+        profile.sample(profile.getDuration(), state);
+        Assert.assertEquals(target, state.getPosition(), epsilon);
+        Assert.assertEquals(0.0, state.getVelocity(), epsilon);
+        Assert.assertEquals(0.0, state.getAcceleration(), epsilon);
+    }
+
+    public static class SevenSegmentTest {
+        // Reaches max accel and max velocity - 1s ramps, 1s accel hold, 2s cruise
+        private static SCurveProfile profile = new SCurveProfile(0.0, 0.0, 10.0, 2.0, 1.0, 1.0, 1.0);
+
+        @Test
+        public void getPosition() {
+            Assert.assertEquals(0.0, profile.getPosition(0.0), epsilon);
+            Assert.assertEquals(1.0 / 6.0, profile.getPosition(1.0), epsilon);
+            Assert.assertEquals(3.0, profile.getPosition(3.0), epsilon);
+            Assert.assertEquals(5.0, profile.getPosition(4.0), epsilon);
+            Assert.assertEquals(7.0, profile.getPosition(5.0), epsilon);
+            Assert.assertEquals(10.0, profile.getPosition(8.0), epsilon);
+        }
+
+        @Test
+        public void getVelocity() {
+            Assert.assertEquals(0.5, profile.getVelocity(1.0), epsilon);
+            Assert.assertEquals(1.5, profile.getVelocity(2.0), epsilon);
+            Assert.assertEquals(2.0, profile.getVelocity(3.0), epsilon);
+            Assert.assertEquals(2.0, profile.getVelocity(4.5), epsilon);
+            Assert.assertEquals(0.5, profile.getVelocity(7.0), epsilon);
+            Assert.assertEquals(0.0, profile.getVelocity(9.0), epsilon);
+        }
+
+        @Test
+        public void getAcceleration() {
+            Assert.assertEquals(0.0, profile.getAcceleration(0.0), epsilon);
+            Assert.assertEquals(0.5, profile.getAcceleration(0.5), epsilon);
+            Assert.assertEquals(1.0, profile.getAcceleration(1.5), epsilon);
+            Assert.assertEquals(0.0, profile.getAcceleration(4.0), epsilon);
+            Assert.assertEquals(-1.0, profile.getAcceleration(6.5), epsilon);
+            Assert.assertEquals(-0.5, profile.getAcceleration(7.5), epsilon);
+        }
+
+        @Test
+        public void getJerk() {
+            Assert.assertEquals(1.0, profile.getJerk(0.5), epsilon);
+            Assert.assertEquals(0.0, profile.getJerk(1.5), epsilon);
+            Assert.assertEquals(-1.0, profile.getJerk(2.5), epsilon);
+            Assert.assertEquals(0.0, profile.getJerk(4.0), epsilon);
+            Assert.assertEquals(0.0, profile.getJerk(9.0), epsilon);
+        }
+
+        @Test
+        public void getDuration() {
+            Assert.assertEquals(8.0, profile.getDuration(), epsilon);
+        }
+
+        @Test
+        public void invariants() {
+            checkInvariants(profile, 0.0, 0.0, 10.0, 2.0, 1.0, 1.0, 1.0);
+        }
+
+        @AfterClass
+        public static void plot() {
+            plotProfile(profile, "sevenSegment");
+        }
+    }
+
+    public static class ShortMoveTest {
+        // Too short to reach max accel or max velocity - four pure jerk segments
+        private static SCurveProfile profile = new SCurveProfile(0.0, 1.0, -1.0, 5.0, 2.0, 2.0, 1.0);
+
+        @Test
+        public void getDuration() {
+            // Each ramp takes (distance / 2 / maxJerk)^(1/3) seconds
+            Assert.assertEquals(4.0, profile.getDuration(), epsilon);
+        }
+
+        @Test
+        public void getPosition() {
+            Assert.assertEquals(0.0, profile.getPosition(2.0), epsilon);
+        }
+
+        @Test
+        public void invariants() {
+            checkInvariants(profile, 0.0, 1.0, -1.0, 5.0, 2.0, 2.0, 1.0);
+        }
+    }
+
+    public static class StartStateTest {
+        @Test
+        public void movingTowardsTarget() {
+            checkInvariants(new SCurveProfile(1.0, 0.0, 12.0, 3.0, 2.0, 1.0, 4.0), 1.0, 0.0, 12.0, 3.0, 2.0, 1.0,
+                    4.0);
+        }
+
+        @Test
+        public void wrongDirection() {
+            checkInvariants(new SCurveProfile(-1.5, 0.5, 16.0, 4.0, 2.0, 1.0, 3.0), -1.5, 0.5, 16.0, 4.0, 2.0, 1.0,
+                    3.0);
+        }
+
+        @Test
+        public void overshoot() {
+            checkInvariants(new SCurveProfile(4.0, 0.0, 2.0, 4.0, 2.0, 2.0, 5.0), 4.0, 0.0, 2.0, 4.0, 2.0, 2.0, 5.0);
+        }
+
+        @Test
+        public void aboveMaxVelocity() {
+            checkInvariants(new SCurveProfile(6.0, 0.0, 40.0, 4.0, 2.0, 2.0, 5.0), 6.0, 0.0, 40.0, 4.0, 2.0, 2.0,
+                    5.0);
+        }
+
+        @Test
+        public void aboveMaxVelocityNearTarget() {
+            checkInvariants(new SCurveProfile(6.0, 0.0, 9.6, 4.0, 2.0, 2.0, 5.0), 6.0, 0.0, 9.6, 4.0, 2.0, 2.0, 5.0);
+        }
+
+        @Test
+        public void atTarget() {
+            SCurveProfile profile = new SCurveProfile(0.0, 2.0, 2.0, 4.0, 2.0, 2.0, 5.0);
+            Assert.assertEquals(0.0, profile.getDuration(), epsilon);
+            Assert.assertEquals(2.0, profile.getPosition(1.0), epsilon);
+        }
+    }
+
+    public static class ComparisonTest {
+        @Test
+        public void slowerThanStaticProfile() {
+            // Limiting jerk can only add time to the same move
+            StaticProfile trapezoid = new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0);
+            SCurveProfile sCurve = new SCurveProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0, 4.0);
+            Assert.assertTrue(sCurve.getDuration() > trapezoid.getDuration());
+            Assert.assertTrue(sCurve.getDuration() < trapezoid.getDuration() + 1.0);
+        }
+
+        @Test
+        public void approachesStaticProfile() {
+            // With effectively unlimited jerk the S-curve is a trapezoid
+            StaticProfile trapezoid = new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0);
+            SCurveProfile sCurve = new SCurveProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0, 1e9);
+            Assert.assertEquals(trapezoid.getDuration(), sCurve.getDuration(), 1e-6);
+            for (double time = 0.0; time < trapezoid.getDuration(); time += 0.1) {
+                Assert.assertEquals(trapezoid.getPosition(time), sCurve.getPosition(time), 1e-6);
+            }
+        }
+    }
+    public static class GetterTest {
+        private static SCurveProfile profile = new SCurveProfile(0.5, 1.0, 10.0, 2.0, 1.0, 1.5, 3.0);
+
+        @Test
+        public void matchesSample() {
+            ProfileState state = new ProfileState();
+            for (double time = -0.1; time < profile.getDuration() + 0.1; time += 0.0037) {
+                profile.sample(time, state);
+                Assert.assertEquals(state.getPosition(), profile.getPosition(time), 0.0);
+                Assert.assertEquals(state.getVelocity(), profile.getVelocity(time), 0.0);
+                Assert.assertEquals(state.getAcceleration(), profile.getAcceleration(time), 0.0);
+            }
+        }
+
+        private static long runGetters(int ticks) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+
+            double sum = 0.0;
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ticks; i++) {
+                double time = i * 0.02;
+                sum += profile.getPosition(time) + profile.getVelocity(time) + profile.getAcceleration(time);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            Assert.assertFalse(Double.isNaN(sum));
+            return allocated;
+        }
+
+        @Test
+        public void gettersAllocationFree() {
+            Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+            // Warm up, including the allocation counter itself
+            runGetters(10000);
+            Assert.assertEquals(0, runGetters((int) (profile.getDuration() / 0.02) + 50));
+        }
+    }
+}
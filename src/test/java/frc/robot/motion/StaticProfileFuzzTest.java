@@ -0,0 +1,291 @@
+package frc.robot.motion;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Random StaticProfiles checked against invariants across all cores. Run more
+ * cases with -DfuzzCases=5000000, and a different set with -DfuzzSeed=...
+ */
+public class StaticProfileFuzzTest {
+    private static final int defaultCases = 20000;
+    // Evenly spaced samples checked along each profile
+    private static final int samples = 200;
+    // Most chunks the closed form solver ever creates
+    private static final int maxChunks = 4;
+    // Generous wall clock limit for one construction, allowing for GC pauses
+    private static final long maxConstructionNanos = 50000000L;
+
+    // currentVelocity, currentPosition, targetDistance, maxVelocity, maxAccel,
+    // maxDecel
+    private static final int parameterCount = 6;
+    // Smallest limit shrinking will try
+    private static final double minLimit = 1e-3;
+
+    private static double[] generate(long seed) {
+        Random random = new Random(seed);
+        double maxVelocity = pick(random, 0.01, 20.0);
+        double maxAccel = pick(random, 0.01, 20.0);
+        double maxDecel = random.nextInt(4) == 0 ? maxAccel : pick(random, 0.01, 20.0);
+        double position = random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 200.0 - 100.0;
+
+        double velocity;
+        switch (random.nextInt(5)) {
+        case 0:
+            velocity = 0.0;
+            break;
+        case 1:
+            velocity = maxVelocity * (random.nextBoolean() ? 1.0 : -1.0);
+            break;
+        default:
+            velocity = (random.nextDouble() * 4.0 - 2.0) * maxVelocity;
+        }
+
+        // Distances around the decision points of the solver - stopping exactly on
+        // the target, reaching max velocity exactly, and arbitrary
+        double stoppingDistance = 0.5 * velocity * Math.abs(velocity) / maxDecel;
+        double distance;
+        switch (random.nextInt(6)) {
+        case 0:
+            distance = 0.0;
+            break;
+        case 1:
+            distance = stoppingDistance;
+            break;
+        case 2:
+            distance = stoppingDistance * (1.0 + (random.nextDouble() - 0.5) * 1e-9);
+            break;
+        case 3:
+            distance = (random.nextDouble() - 0.5) * 1e-6;
+            break;
+        default:
+            distance = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(6) - 2);
+        }
+
+        return new double[] { velocity, position, position + distance, maxVelocity, maxAccel, maxDecel };
+    }
+
+    // Uniform in log space, so small and large limits are equally likely
+    private static double pick(Random random, double min, double max) {
+        return min * Math.pow(max / min, random.nextDouble());
+    }
+
+    /**
+     * Description of the first invariant the profile breaks, or null if it keeps
+     * them all
+     */
+    static String check(double[] parameters) {
+        final double velocity = parameters[0];
+        final double position = parameters[1];
+        final double target = parameters[2];
+        final double maxVelocity = parameters[3];
+        final double maxAccel = parameters[4];
+        final double maxDecel = parameters[5];
+
+        final StaticProfile profile;
+        final long start = System.nanoTime();
+        try {
+            profile = new StaticProfile(velocity, position, target, maxVelocity, maxAccel, maxDecel);
+        } catch (RuntimeException e) {
+            return "construction threw " + e;
+        }
+        final long constructionNanos = System.nanoTime() - start;
+        if (constructionNanos > maxConstructionNanos) {
+            return "construction took " + constructionNanos + "ns";
+        }
+        if (profile.getChunkCount() > maxChunks) {
+            return "too many chunks: " + profile.getChunkCount();
+        }
+
+        final double duration = profile.getDuration();
+        if (!(duration >= 0.0) || Double.isInfinite(duration)) {
+            return "duration " + duration;
+        }
+
+        final double maxSpeed = Math.max(maxVelocity, Math.abs(velocity));
+        final double maxAcceleration = Math.max(maxAccel, maxDecel);
+        final double scale = Math.max(1.0, Math.max(Math.abs(position), Math.abs(target)))
+                + maxSpeed * maxSpeed / Math.min(maxAccel, maxDecel);
+        final double positionTolerance = 1e-9 * scale;
+        final double velocityTolerance = 1e-9 * (maxSpeed + maxAcceleration * duration);
+
+        final double end = profile.getPosition(duration);
+        if (Math.abs(end - target) > positionTolerance) {
+            return "ends at " + end + " instead of " + target;
+        }
+        if (Math.abs(profile.getVelocity(duration)) > velocityTolerance) {
+            return "ends moving at " + profile.getVelocity(duration);
+        }
+        if (Math.abs(profile.getVelocity(0.0) - velocity) > velocityTolerance) {
+            return "starts at " + profile.getVelocity(0.0) + " instead of " + velocity;
+        }
+
+        final double[] times = new double[samples + 1];
+        for (int i = 0; i <= samples; i++) {
+            times[i] = duration * i / samples;
+        }
+        final double[] positions = new double[samples + 1];
+        final double[] velocities = new double[samples + 1];
+        final double[] accelerations = new double[samples + 1];
+        profile.sampleInto(times, positions, velocities, accelerations);
+
+        for (int i = 0; i <= samples; i++) {
+            if (Double.isNaN(positions[i]) || Double.isNaN(velocities[i]) || Double.isNaN(accelerations[i])) {
+                return "NaN at " + times[i];
+            }
+            if (Math.abs(velocities[i]) > maxSpeed + velocityTolerance) {
+                return "velocity " + velocities[i] + " at " + times[i];
+            }
+            if (Math.abs(accelerations[i]) > maxAcceleration * (1 + 1e-9)) {
+                return "acceleration " + accelerations[i] + " at " + times[i];
+            }
+            if (i == 0) {
+                continue;
+            }
+            // Velocity can only change as fast as the acceleration limits allow, and
+            // position has to follow velocity
+            final double step = times[i] - times[i - 1];
+            final double deltaVelocity = velocities[i] - velocities[i - 1];
+            if (Math.abs(deltaVelocity) > maxAcceleration * step + velocityTolerance) {
+                return "velocity jumps by " + deltaVelocity + " at " + times[i];
+            }
+            final double expectedDelta = 0.5 * (velocities[i] + velocities[i - 1]) * step;
+            final double deltaPosition = positions[i] - positions[i - 1];
+            if (Math.abs(deltaPosition - expectedDelta) > maxAcceleration * step * step / 2 + positionTolerance) {
+                return "position jumps by " + deltaPosition + " at " + times[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Simplify a failing case as far as possible while it still fails
+     */
+    static double[] shrink(double[] parameters, Predicate<double[]> fails) {
+        double[] current = parameters.clone();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            // Moves are the same anywhere, so try starting from zero
+            if (current[1] != 0.0) {
+                double[] attempt = current.clone();
+                attempt[1] = 0.0;
+                attempt[2] = current[2] - current[1];
+                if (fails.test(attempt)) {
+                    current = attempt;
+                    progress = true;
+                }
+            }
+            for (int i = 0; i < parameterCount; i++) {
+                for (double candidate : simplerValues(current, i)) {
+                    double[] attempt = current.clone();
+                    attempt[i] = candidate;
+                    if (isSimpler(candidate, current[i]) && isValid(attempt) && fails.test(attempt)) {
+                        current = attempt;
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    // Candidates in order of preference - zero, one, small integers, then the
+    // value rounded to fewer digits
+    private static double[] simplerValues(double[] parameters, int index) {
+        double value = parameters[index];
+        double[] candidates = new double[12];
+        int count = 0;
+        candidates[count++] = 0.0;
+        candidates[count++] = Math.signum(value);
+        candidates[count++] = Math.rint(value);
+        candidates[count++] = value / 2;
+        for (int digits = 0; digits < 8; digits++) {
+            double factor = Math.pow(10.0, digits);
+            candidates[count++] = Math.rint(value * factor) / factor;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    // Fewer decimal digits, or the same digits and smaller - strictly decreasing,
+    // so shrinking always terminates
+    private static boolean isSimpler(double candidate, double value) {
+        final int candidateDigits = digits(candidate);
+        final int valueDigits = digits(value);
+        if (candidateDigits != valueDigits) {
+            return candidateDigits < valueDigits;
+        }
+        return Math.abs(candidate) < Math.abs(value);
+    }
+
+    private static int digits(double value) {
+        for (int digits = 0; digits < 16; digits++) {
+            final double factor = Math.pow(10.0, digits);
+            if (Math.rint(value * factor) / factor == value) {
+                return digits;
+            }
+        }
+        return 16;
+    }
+
+    private static boolean isValid(double[] parameters) {
+        return parameters[3] >= minLimit && parameters[4] >= minLimit && parameters[5] >= minLimit;
+    }
+
+    // Failure description up to the first number
+    private static String failureKind(String failure) {
+        if (failure == null) {
+            return "";
+        }
+        for (int i = 0; i < failure.length(); i++) {
+            char c = failure.charAt(i);
+            if (Character.isDigit(c) || c == '-') {
+                return failure.substring(0, i);
+            }
+        }
+        return failure;
+    }
+
+    private static long fuzzSeed() {
+        try {
+            return Long.parseLong(System.getProperty("fuzzSeed", "2733"));
+        } catch (NumberFormatException e) {
+            return 2733;
+        }
+    }
+
+    @Test
+    public void invariants() {
+        final int cases = Integer.getInteger("fuzzCases", defaultCases);
+        final long baseSeed = fuzzSeed();
+
+        // Ordered parallel stream, so the failure reported is always the lowest
+        // failing case regardless of core count
+        final long failingCase = LongStream.range(0, cases).parallel()
+                .filter((long i) -> check(generate(baseSeed + i)) != null).findFirst().orElse(-1);
+        if (failingCase == -1) {
+            return;
+        }
+
+        // Shrink while it fails the same way, not just any way
+        double[] parameters = generate(baseSeed + failingCase);
+        String kind = failureKind(check(parameters));
+        double[] shrunk = shrink(parameters, (double[] attempt) -> kind.equals(failureKind(check(attempt))));
+        Assert.fail("Seed " + (baseSeed + failingCase) + " fails: " + check(parameters) + "\n  case "
+                + Arrays.toString(parameters) + "\n  shrunk to " + Arrays.toString(shrunk) + ": " + check(shrunk));
+    }
+
+    @Test
+    public void shrinksFailingCase() {
+        // Stand-in failure for any move longer than 10
+        double[] parameters = { 1.2345, 6.789, 42.4242, 3.14159, 2.71828, 1.41421 };
+        double[] shrunk = shrink(parameters, (double[] attempt) -> attempt[2] - attempt[1] > 10.0);
+        Assert.assertArrayEquals(new double[] { 0.0, 0.0, 18.0, 1.0, 1.0, 1.0 }, shrunk, 0.0);
+    }
+}
@@ -1,8 +1,18 @@
 package frc.robot.motion;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
+
+import frc.robot.pidf.Gains;
+import frc.robot.pidf.PIDF;
+import frc.robot.utils.Bounds;
 import frc.robot.utils.Plot;
 
 public class StaticProfileTest {
@@ -20,9 +30,19 @@ public class StaticProfileTest {
 
     private static void plotProfile(StaticProfile profile, String name, double duration, double step) {
         if (shouldGraph()) {
-            Plot profilePlot = new Plot(name, profile::getVelocity, duration, "Velocity", step);
-            profilePlot.addSeries(profile::getPosition, "Position", step);
-            profilePlot.addSeries(profile::getAcceleration, "Acceleration", step);
+            int samples = (int) Math.ceil(duration / step) + 1;
+            double[] times = new double[samples];
+            for (int i = 0; i < samples; i++) {
+                times[i] = Math.min(i * step, duration);
+            }
+            double[] positions = new double[samples];
+            double[] velocities = new double[samples];
+            double[] accelerations = new double[samples];
+            profile.sampleInto(times, positions, velocities, accelerations);
+
+            Plot profilePlot = new Plot(name, times, velocities, "Velocity");
+            profilePlot.addSeries(times, positions, "Position");
+            profilePlot.addSeries(times, accelerations, "Acceleration");
 
             profilePlot.savePlot("./graphs/profiles/");
         }
@@ -714,4 +734,330 @@ public class StaticProfileTest {
             plotProfile(overrunTimeProfile, "overrunTime", 12.0, 0.025);
         }
     }
+
+    public static class ReversePartialTriangleTest {
+        // Already moving towards a negative target, too close to reach max speed
+        private static StaticProfile reversePartialTriangle = new StaticProfile(-2.0, 0.0, -10.0, 8.0, 1.0, 1.0);
+
+        @Test
+        public void getVelocity() {
+            Assert.assertEquals(-2.0, reversePartialTriangle.getVelocity(0.0), epsilon);
+            Assert.assertEquals(-Math.sqrt(12.0), reversePartialTriangle.getVelocity(Math.sqrt(12.0) - 2.0), epsilon);
+            Assert.assertEquals(0.0, reversePartialTriangle.getVelocity(2 * Math.sqrt(12.0) - 2.0), epsilon);
+        }
+
+        @Test
+        public void getPosition() {
+            Assert.assertEquals(0.0, reversePartialTriangle.getPosition(0.0), epsilon);
+            Assert.assertEquals(-4.0, reversePartialTriangle.getPosition(Math.sqrt(12.0) - 2.0), epsilon);
+            Assert.assertEquals(-10.0, reversePartialTriangle.getPosition(2 * Math.sqrt(12.0) - 2.0), epsilon);
+        }
+
+        @Test
+        public void getDuration() {
+            Assert.assertEquals(2 * Math.sqrt(12.0) - 2.0, reversePartialTriangle.getDuration(), epsilon);
+        }
+    }
+
+    public static class ShortMoveTest {
+        // Acceleration to max speed alone would overshoot the target
+        private static StaticProfile shortMove = new StaticProfile(0.0, 0.0, 1.0, 10.0, 1.0, 100.0);
+
+        @Test
+        public void getVelocity() {
+            final double peak = Math.sqrt(200.0 / 101.0);
+            Assert.assertEquals(peak, shortMove.getVelocity(peak), epsilon);
+            for (double time = 0.0; time < shortMove.getDuration(); time += 0.01) {
+                Assert.assertTrue(shortMove.getVelocity(time) >= 0.0);
+                Assert.assertTrue(shortMove.getVelocity(time) <= peak + epsilon);
+            }
+        }
+
+        @Test
+        public void getPosition() {
+            Assert.assertEquals(1.0, shortMove.getPosition(shortMove.getDuration()), epsilon);
+        }
+
+        @Test
+        public void getDuration() {
+            final double peak = Math.sqrt(200.0 / 101.0);
+            Assert.assertEquals(peak + peak / 100.0, shortMove.getDuration(), epsilon);
+        }
+    }
+
+    public static class AtTargetTest {
+        private static StaticProfile atTarget = new StaticProfile(0.0, 3.0, 3.0, 4.0, 2.0, 1.0);
+
+        @Test
+        public void atRest() {
+            Assert.assertEquals(0.0, atTarget.getDuration(), epsilon);
+            Assert.assertEquals(3.0, atTarget.getPosition(-1.0), epsilon);
+            Assert.assertEquals(3.0, atTarget.getPosition(1.0), epsilon);
+            Assert.assertEquals(0.0, atTarget.getVelocity(0.0), epsilon);
+            Assert.assertEquals(0.0, atTarget.getAcceleration(0.0), epsilon);
+        }
+    }
+
+    public static class BakedTest {
+        private static final double sampleStep = 0.01;
+
+        // Analytic and baked profiles built from the same parameters
+        private static final double[][] parameters = { { 0.0, 0.0, 16.0, 4.0, 2.0, 1.0 },
+                { -1, 0.5, 16.0, 4.0, 2.0, 1.0 }, { 0.0, 0.0, 35.69, 9.0, 2.0, 2.15 }, { 1.0, 0.0, 5.5, 5.0, 1.0, 0.5 },
+                { 0.0, 0.0, -35.69, 9.0, 2.0, 2.15 }, { 2.5, 0.0, 11.25, 5.0, 2.5, 5.0 },
+                { 4.0, 4.0, 12.0, 6.0, 2.0, 1.0 }, { 8.0, 0.0, 40.0, 8.0, 2.0, 1.0 },
+                { 10.0, 0.0, 58.0, 8.0, 2.0, 1.0 }, { 10.0, 0.0, 34.0, 10.0, 1.0, 1.0 },
+                { 50.0, 0.0, 1000.0, 10.0, 1.0, 1.0 } };
+
+        private static StaticProfile analytic(double[] p) {
+            return new StaticProfile(p[0], p[1], p[2], p[3], p[4], p[5]);
+        }
+
+        private static StaticProfile baked(double[] p) {
+            return new StaticProfile(p[0], p[1], p[2], p[3], p[4], p[5], sampleStep);
+        }
+
+        @Test
+        public void isBaked() {
+            Assert.assertFalse(analytic(parameters[0]).isBaked());
+            Assert.assertTrue(baked(parameters[0]).isBaked());
+        }
+
+        @Test
+        public void getDuration() {
+            for (double[] p : parameters) {
+                Assert.assertEquals(analytic(p).getDuration(), baked(p).getDuration(), epsilon);
+            }
+        }
+
+        @Test
+        public void matchesAnalytic() {
+            for (double[] p : parameters) {
+                StaticProfile analytic = analytic(p);
+                StaticProfile baked = baked(p);
+                // Deliberately off the sample grid
+                for (double time = 0.0; time < analytic.getDuration() + 1.0; time += 0.0137) {
+                    // Chunk boundaries inside a sample interval are smoothed over
+                    double before = analytic.getAcceleration(Math.max(time - sampleStep, 0.0));
+                    double after = analytic.getAcceleration(time + sampleStep);
+                    double jump = Math.abs(after - before);
+
+                    Assert.assertEquals(analytic.getPosition(time), baked.getPosition(time),
+                            1e-9 + jump * sampleStep * sampleStep);
+                    Assert.assertEquals(analytic.getVelocity(time), baked.getVelocity(time),
+                            1e-9 + jump * sampleStep);
+                    if (jump == 0.0) {
+                        Assert.assertEquals(analytic.getAcceleration(time), baked.getAcceleration(time), 1e-6);
+                    } else {
+                        Assert.assertTrue(baked.getAcceleration(time) >= Math.min(before, after) - 1e-6);
+                        Assert.assertTrue(baked.getAcceleration(time) <= Math.max(before, after) + 1e-6);
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void endOfProfile() {
+            for (double[] p : parameters) {
+                StaticProfile baked = baked(p);
+                Assert.assertEquals(p[2], baked.getPosition(baked.getDuration()), epsilon);
+                Assert.assertEquals(p[2], baked.getPosition(baked.getDuration() + 10.0), epsilon);
+                Assert.assertEquals(0.0, baked.getVelocity(baked.getDuration() + 10.0), epsilon);
+                Assert.assertEquals(0.0, baked.getAcceleration(baked.getDuration() + 10.0), epsilon);
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidSampleStep() {
+            new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0, 0.0);
+        }
+    }
+
+    public static class SampleTest {
+        private static StaticProfile profile = new StaticProfile(-1, 0.5, 16.0, 4.0, 2.0, 1.0);
+        private static StaticProfile bakedProfile = new StaticProfile(-1, 0.5, 16.0, 4.0, 2.0, 1.0, 0.01);
+
+        private static void checkSample(StaticProfile profile) {
+            ProfileState state = new ProfileState();
+            for (double time = -0.5; time < profile.getDuration() + 1.0; time += 0.05) {
+                profile.sample(time, state);
+                Assert.assertEquals(profile.getPosition(time), state.getPosition(), epsilon);
+                Assert.assertEquals(profile.getVelocity(time), state.getVelocity(), epsilon);
+                Assert.assertEquals(profile.getAcceleration(time), state.getAcceleration(), epsilon);
+            }
+        }
+
+        @Test
+        public void matchesGetters() {
+            checkSample(profile);
+            checkSample(bakedProfile);
+        }
+
+        private static long runControlLoop(StaticProfile profile, ProfileState setpoint, PIDF controller,
+                int ticks) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+
+            double input = 0.5;
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ticks; i++) {
+                double time = i * 0.02;
+                profile.sample(time, setpoint);
+                input += 0.02 * controller.calculateOutput(input, setpoint.getPosition(), setpoint.getVelocity(),
+                        setpoint.getAcceleration(), time);
+            }
+            return threads.getThreadAllocatedBytes(threadId) - before;
+        }
+
+        private static void checkAllocationFree(StaticProfile profile) {
+            Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+
+            ProfileState setpoint = new ProfileState();
+            PIDF controller = new PIDF(new Gains(0.5, 0.0, 0.0, 0.0, 1.0, 0.0), new Bounds(-1.0, 1.0));
+
+            // Warm up, including the allocation counter itself
+            runControlLoop(profile, setpoint, controller, 10000);
+
+            int ticks = (int) (profile.getDuration() / 0.02) + 50;
+            Assert.assertEquals(0, runControlLoop(profile, setpoint, controller, ticks));
+        }
+
+        @Test
+        public void controlLoopAllocationFree() {
+            checkAllocationFree(profile);
+        }
+
+        @Test
+        public void bakedControlLoopAllocationFree() {
+            checkAllocationFree(bakedProfile);
+        }
+    }
+
+    public static class ChunkLookupTest {
+        private static List<Chunk> chunks = new ArrayList<Chunk>();
+        private static StaticProfile profile;
+
+        static {
+            // Sawtooth of accelerate, cruise, decelerate chunks
+            for (int i = 0; i < 500; i++) {
+                chunks.add(Chunk.createVelocityTransition(1.0, 3.0, 2.0, 1.0));
+                chunks.add(Chunk.createConstantVelocity(3.0, 1.5));
+                chunks.add(Chunk.createVelocityTransition(3.0, 1.0, 2.0, 1.0));
+            }
+            profile = new StaticProfile(chunks, 2.0);
+        }
+
+        // Reference linear scan over the chunks
+        private static double getPosition(double time) {
+            double chunkStartTime = 0.0;
+            double position = 2.0;
+            for (Chunk chunk : chunks) {
+                if (time < chunkStartTime + chunk.getDuration()) {
+                    return position + chunk.getPosition(time - chunkStartTime);
+                }
+                chunkStartTime += chunk.getDuration();
+                position += chunk.getTotalDistance();
+            }
+            return position;
+        }
+
+        @Test
+        public void getDuration() {
+            Assert.assertEquals(500 * (1.0 + 0.5 + 2.0), profile.getDuration(), epsilon);
+        }
+
+        @Test
+        public void sequentialAccess() {
+            for (double time = 0.0; time < profile.getDuration() + 1.0; time += 0.02) {
+                Assert.assertEquals(getPosition(time), profile.getPosition(time), epsilon);
+            }
+        }
+
+        @Test
+        public void randomAccess() {
+            Random random = new Random(2733);
+            for (int i = 0; i < 5000; i++) {
+                double time = (random.nextDouble() * 1.2 - 0.1) * profile.getDuration();
+                Assert.assertEquals(getPosition(time), profile.getPosition(time), epsilon);
+            }
+        }
+
+        @Test
+        public void chunkBoundaries() {
+            double time = 0.0;
+            for (Chunk chunk : chunks) {
+                Assert.assertEquals(getPosition(time), profile.getPosition(time), epsilon);
+                Assert.assertEquals(chunk.getAcceleration(), profile.getAcceleration(time), epsilon);
+                time += chunk.getDuration();
+            }
+            Assert.assertEquals(0.0, profile.getVelocity(time), epsilon);
+        }
+    }
+
+    public static class SampleIntoTest {
+        private static StaticProfile profile = ChunkLookupTest.profile;
+
+        private static void checkMatchesSample(StaticProfile profile, double[] times) {
+            double[] positions = new double[times.length];
+            double[] velocities = new double[times.length];
+            double[] accelerations = new double[times.length];
+            profile.sampleInto(times, positions, velocities, accelerations);
+
+            ProfileState state = new ProfileState();
+            for (int i = 0; i < times.length; i++) {
+                profile.sample(times[i], state);
+                Assert.assertEquals(state.getPosition(), positions[i], epsilon);
+                Assert.assertEquals(state.getVelocity(), velocities[i], epsilon);
+                Assert.assertEquals(state.getAcceleration(), accelerations[i], epsilon);
+            }
+        }
+
+        @Test
+        public void sortedTimes() {
+            double[] times = new double[10000];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = (i - 100) * (profile.getDuration() + 5.0) / times.length;
+            }
+            checkMatchesSample(profile, times);
+        }
+
+        @Test
+        public void unsortedTimes() {
+            Random random = new Random(2733);
+            double[] times = new double[2000];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = random.nextDouble() * 1.1 * profile.getDuration();
+            }
+            checkMatchesSample(profile, times);
+        }
+
+        @Test
+        public void bakedProfile() {
+            StaticProfile baked = new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0, 0.01);
+            double[] times = new double[800];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = i * 0.01;
+            }
+            checkMatchesSample(baked, times);
+        }
+
+        @Test
+        public void nullOutputs() {
+            double[] times = { 0.0, 1.0, 2.0 };
+            double[] positions = new double[3];
+            profile.sampleInto(times, positions, null, null);
+            Assert.assertEquals(profile.getPosition(2.0), positions[2], epsilon);
+        }
+
+        @Test
+        public void emptyTimes() {
+            profile.sampleInto(new double[0], new double[0], new double[0], new double[0]);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shortOutput() {
+            profile.sampleInto(new double[3], new double[2], null, null);
+        }
+    }
 }
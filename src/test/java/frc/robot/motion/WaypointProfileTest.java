@@ -0,0 +1,130 @@
+package frc.robot.motion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WaypointProfileTest {
+    private static final double epsilon = 1e-6;
+
+    // Checks the profile passes every waypoint at its waypoint time, keeps
+    // velocity continuous and stays within the limits
+    private static void checkProfile(WaypointProfile profile, double startVelocity, List<Waypoint> waypoints,
+            double maxVelocity, double maxAccel, double maxDecel) {
+        for (int i = 0; i < waypoints.size(); i++) {
+            double time = profile.getWaypointTime(i);
+            Assert.assertEquals(waypoints.get(i).getPosition(), profile.getPosition(time), 1e-6);
+            Assert.assertTrue(Math.abs(profile.getVelocity(time)) <= waypoints.get(i).getMaxSpeed() + epsilon);
+        }
+        Assert.assertEquals(profile.getDuration(), profile.getWaypointTime(waypoints.size() - 1), epsilon);
+
+        double step = 0.001;
+        double previousVelocity = profile.getVelocity(0.0);
+        Assert.assertEquals(startVelocity, previousVelocity, epsilon);
+        for (double time = step; time < profile.getDuration() + 0.5; time += step) {
+            double velocity = profile.getVelocity(time);
+            Assert.assertEquals(previousVelocity, velocity, Math.max(maxAccel, maxDecel) * step + epsilon);
+            Assert.assertTrue(Math.abs(velocity) <= Math.max(maxVelocity, Math.abs(startVelocity)) + epsilon);
+            Assert.assertTrue(Math.abs(profile.getAcceleration(time)) <= Math.max(maxAccel, maxDecel) + epsilon);
+            previousVelocity = velocity;
+        }
+        Assert.assertEquals(0.0, previousVelocity, epsilon);
+    }
+
+    @Test
+    public void singleWaypointMatchesStaticProfile() {
+        StaticProfile staticProfile = new StaticProfile(0.0, 0.0, 16.0, 4.0, 2.0, 1.0);
+        WaypointProfile profile = new WaypointProfile(0.0, 0.0, Arrays.asList(new Waypoint(16.0)), 4.0, 2.0, 1.0);
+
+        Assert.assertEquals(staticProfile.getDuration(), profile.getDuration(), epsilon);
+        for (double time = 0.0; time < profile.getDuration(); time += 0.1) {
+            Assert.assertEquals(staticProfile.getPosition(time), profile.getPosition(time), epsilon);
+            Assert.assertEquals(staticProfile.getVelocity(time), profile.getVelocity(time), epsilon);
+        }
+    }
+
+    @Test
+    public void passesThroughWithoutStopping() {
+        // Same as one trapezoidal move from 0 to 10
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(5.0), new Waypoint(10.0));
+        WaypointProfile profile = new WaypointProfile(0.0, 0.0, waypoints, 2.0, 1.0, 1.0);
+
+        Assert.assertEquals(7.0, profile.getDuration(), epsilon);
+        Assert.assertEquals(3.5, profile.getWaypointTime(0), epsilon);
+        Assert.assertEquals(2.0, profile.getVelocity(3.5), epsilon);
+        checkProfile(profile, 0.0, waypoints, 2.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void limitedPassThroughSpeed() {
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(5.0, 1.0), new Waypoint(10.0));
+        WaypointProfile profile = new WaypointProfile(0.0, 0.0, waypoints, 2.0, 1.0, 1.0);
+
+        Assert.assertEquals(1.0, profile.getVelocity(profile.getWaypointTime(0)), epsilon);
+        // Faster than stopping at the waypoint, slower than not slowing down at all
+        Assert.assertTrue(profile.getDuration() > 7.0);
+        Assert.assertTrue(profile.getDuration() < 2 * 4.5);
+        checkProfile(profile, 0.0, waypoints, 2.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void stopsToReverse() {
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(4.0), new Waypoint(4.0), new Waypoint(1.0));
+        WaypointProfile profile = new WaypointProfile(0.0, 0.0, waypoints, 2.0, 1.0, 1.0);
+
+        Assert.assertEquals(0.0, profile.getVelocity(profile.getWaypointTime(0)), epsilon);
+        Assert.assertEquals(1.0, profile.getPosition(profile.getDuration()), epsilon);
+        checkProfile(profile, 0.0, waypoints, 2.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void startMovingAway() {
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(3.0), new Waypoint(6.0));
+        WaypointProfile profile = new WaypointProfile(-1.0, 0.0, waypoints, 2.0, 1.0, 1.0);
+        checkProfile(profile, -1.0, waypoints, 2.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void startTooFastForWaypoint() {
+        // Can't slow to 0.5 by the first waypoint - stops, comes back, then continues
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(1.0, 0.5), new Waypoint(6.0));
+        WaypointProfile profile = new WaypointProfile(3.0, 0.0, waypoints, 3.0, 1.0, 1.0);
+        checkProfile(profile, 3.0, waypoints, 3.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void startAboveMaxVelocity() {
+        List<Waypoint> waypoints = Arrays.asList(new Waypoint(20.0), new Waypoint(40.0));
+        WaypointProfile profile = new WaypointProfile(5.0, 0.0, waypoints, 3.0, 1.0, 1.0);
+        checkProfile(profile, 5.0, waypoints, 3.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void randomWaypoints() {
+        Random random = new Random(2733);
+        for (int i = 0; i < 200; i++) {
+            List<Waypoint> waypoints = new ArrayList<Waypoint>();
+            int count = 1 + random.nextInt(6);
+            for (int j = 0; j < count; j++) {
+                double position = random.nextDouble() * 20.0 - 10.0;
+                if (random.nextBoolean()) {
+                    waypoints.add(new Waypoint(position, random.nextDouble() * 3.0));
+                } else {
+                    waypoints.add(new Waypoint(position));
+                }
+            }
+            double startVelocity = random.nextDouble() * 4.0 - 2.0;
+            WaypointProfile profile = new WaypointProfile(startVelocity, 0.0, waypoints, 2.5, 1.5, 1.0);
+            checkProfile(profile, startVelocity, waypoints, 2.5, 1.5, 1.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noWaypoints() {
+        new WaypointProfile(0.0, 0.0, new ArrayList<Waypoint>(), 2.0, 1.0, 1.0);
+    }
+}
@@ -0,0 +1,90 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class FeedforwardCharacterizerTest {
+    private static final double dt = 0.001;
+
+    @Test
+    public void fitsSimulatedMotor() {
+        // kS = 0.05, kV = 1 / 2.5 = 0.4, kA = 0.1 / 2.5 = 0.04
+        SimulatedMotor motor = new SimulatedMotor(2.5, 0.1, 0.0, 0.05, dt);
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1, 0.6, 0.01);
+        FeedforwardCharacterizer.Result result = characterizer.characterize(motor, dt, 4.0);
+
+        Assert.assertEquals(0.05, result.kS(), 0.005);
+        Assert.assertEquals(0.4, result.kV(), 0.01);
+        Assert.assertEquals(0.04, result.kA(), 0.004);
+        Assert.assertTrue(result.getRootMeanSquareError() < 0.01);
+        Assert.assertTrue(result.getSampleCount() > 10000);
+    }
+
+    @Test
+    public void toleratesDelay() {
+        SimulatedMotor motor = new SimulatedMotor(2.5, 0.1, 0.02, 0.05, dt);
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1, 0.6, 0.01);
+        FeedforwardCharacterizer.Result result = characterizer.characterize(motor, dt, 4.0);
+
+        Assert.assertEquals(0.05, result.kS(), 0.02);
+        Assert.assertEquals(0.4, result.kV(), 0.04);
+        Assert.assertEquals(0.04, result.kA(), 0.02);
+    }
+
+    @Test
+    public void feedforwardTracksProfile() {
+        SimulatedMotor characterized = new SimulatedMotor(2.5, 0.1, 0.0, 0.0, dt);
+        Gains gains = new FeedforwardCharacterizer(0.1, 0.6, 0.01).characterize(characterized, dt, 4.0)
+                .gains(0.0, 0.0, 0.0);
+
+        // Feedforward alone follows a velocity ramp to 1 m/s and holds it
+        SimulatedMotor motor = new SimulatedMotor(2.5, 0.1, 0.0, 0.0, dt);
+        PIDF controller = new PIDF(gains, new Bounds(-1.0, 1.0));
+        double previous = motor.getMeasurement();
+        for (int i = 0; i < 2000; i++) {
+            double time = i * dt;
+            double velocity = Math.min(time, 1.0);
+            double acceleration = (time < 1.0) ? 1.0 : 0.0;
+            double output = controller.calculateOutput(0.0, 0.0, velocity, acceleration, time);
+            motor.step(output, dt);
+            double actual = (motor.getMeasurement() - previous) / dt;
+            previous = motor.getMeasurement();
+            Assert.assertEquals(velocity, actual, 0.02);
+        }
+    }
+
+    @Test
+    public void streamingSamples() {
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1, 0.6, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            double velocity = (i % 2 == 0 ? 1.0 : -1.0) * (0.1 + i * 0.001);
+            double acceleration = Math.sin(i);
+            characterizer.addSample(0.1 * Math.signum(velocity) + 0.3 * velocity + 0.05 * acceleration, velocity,
+                    acceleration);
+        }
+        // Too slow, dropped
+        characterizer.addSample(10.0, 0.001, 0.0);
+
+        FeedforwardCharacterizer.Result result = characterizer.solve();
+        Assert.assertEquals(0.1, result.kS(), 1e-9);
+        Assert.assertEquals(0.3, result.kV(), 1e-9);
+        Assert.assertEquals(0.05, result.kA(), 1e-9);
+        Assert.assertEquals(1000, result.getSampleCount());
+
+        Gains gains = result.gains(0.5, 0.0, 0.1);
+        Assert.assertEquals(0.5, gains.kP(), 0.0);
+        Assert.assertEquals(0.3, gains.kV(), 1e-9);
+        Assert.assertEquals(0.05, gains.kA(), 1e-9);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void quasistaticOnlyCantFindAcceleration() {
+        FeedforwardCharacterizer characterizer = new FeedforwardCharacterizer(0.1, 0.6, 0.01);
+        for (int i = 1; i <= 100; i++) {
+            characterizer.addSample(0.1 + 0.3 * i, i, 0.0);
+        }
+        characterizer.solve();
+    }
+}
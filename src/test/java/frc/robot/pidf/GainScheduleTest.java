@@ -0,0 +1,79 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GainScheduleTest {
+    private static final double epsilon = 1e-9;
+
+    private static GainSchedule schedule() {
+        double[] breakpoints = { 0.0, 10.0, 30.0 };
+        Gains[] gains = { new Gains(1.0, 0.1, 0.01, 0.0, 1.0, 0.0), new Gains(2.0, 0.2, 0.02, 1.0, 1.0, 0.5),
+                new Gains(4.0, 0.0, 0.04, 0.0, 2.0, 0.5) };
+        return new GainSchedule(breakpoints, gains);
+    }
+
+    private static void checkGains(Gains expected, Gains gains) {
+        Assert.assertEquals(expected.kP(), gains.kP(), epsilon);
+        Assert.assertEquals(expected.kI(), gains.kI(), epsilon);
+        Assert.assertEquals(expected.kD(), gains.kD(), epsilon);
+        Assert.assertEquals(expected.kF(), gains.kF(), epsilon);
+        Assert.assertEquals(expected.kV(), gains.kV(), epsilon);
+        Assert.assertEquals(expected.kA(), gains.kA(), epsilon);
+    }
+
+    @Test
+    public void atBreakpoints() {
+        GainSchedule schedule = schedule();
+        checkGains(new Gains(1.0, 0.1, 0.01, 0.0, 1.0, 0.0), schedule.getGains(0.0));
+        checkGains(new Gains(2.0, 0.2, 0.02, 1.0, 1.0, 0.5), schedule.getGains(10.0));
+        checkGains(new Gains(4.0, 0.0, 0.04, 0.0, 2.0, 0.5), schedule.getGains(30.0));
+    }
+
+    @Test
+    public void interpolates() {
+        GainSchedule schedule = schedule();
+        checkGains(new Gains(1.5, 0.15, 0.015, 0.5, 1.0, 0.25), schedule.getGains(5.0));
+        checkGains(new Gains(3.5, 0.05, 0.035, 0.25, 1.75, 0.5), schedule.getGains(25.0));
+    }
+
+    @Test
+    public void holdsPastEnds() {
+        GainSchedule schedule = schedule();
+        checkGains(schedule.getGains(0.0), schedule.getGains(-100.0));
+        checkGains(schedule.getGains(30.0), schedule.getGains(1e9));
+    }
+
+    @Test
+    public void lookupOrder() {
+        // Same gains whether the hint is used or not
+        GainSchedule hinted = schedule();
+        double[] values = { 1.0, 2.0, 29.0, 11.0, 9.99, 10.0, 20.0, 0.5, 29.99, 3.0 };
+        for (double value : values) {
+            checkGains(schedule().getGains(value), hinted.getGains(value));
+        }
+    }
+
+    @Test
+    public void singleBreakpoint() {
+        GainSchedule schedule = new GainSchedule(new double[] { 3.0 }, new Gains[] { new Gains(1.0, 2.0, 3.0) });
+        checkGains(new Gains(1.0, 2.0, 3.0), schedule.getGains(-1.0));
+        checkGains(new Gains(1.0, 2.0, 3.0), schedule.getGains(5.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedBreakpoints() {
+        new GainSchedule(new double[] { 0.0, 2.0, 2.0 },
+                new Gains[] { new Gains(1.0, 0.0, 0.0), new Gains(1.0, 0.0, 0.0), new Gains(1.0, 0.0, 0.0) });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedLengths() {
+        new GainSchedule(new double[] { 0.0, 1.0 }, new Gains[] { new Gains(1.0, 0.0, 0.0) });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void empty() {
+        new GainSchedule(new double[0], new Gains[0]);
+    }
+}
@@ -0,0 +1,118 @@
+package frc.robot.pidf;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class PIDFBankTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void matchesPIDF() {
+        Gains[] gains = { new Gains(2.0, 4.0, 0.5, 0.0, 1.0, 0.25), new Gains(0.85, 0.1, 0.1),
+                new Gains(0.5, 0.3, 0.05, 0.1, 0.0, 0.0), new Gains(1.5, 2.0, 0.2) };
+        Bounds[] outputBounds = { new Bounds(-6.0, 6.0), new Bounds(-1.0, 1.0), new Bounds(-0.5, 1.0),
+                new Bounds(-1.0, 1.0) };
+        Bounds inputBounds = new Bounds(-Math.PI, Math.PI);
+
+        PIDFBank bank = new PIDFBank(gains.length);
+        PIDF[] controllers = new PIDF[gains.length];
+        for (int i = 0; i < gains.length; i++) {
+            Assert.assertEquals(i, bank.add(gains[i], outputBounds[i]));
+            controllers[i] = new PIDF(gains[i], outputBounds[i]);
+        }
+        // Continuous with derivative on input, continuous only, and derivative on
+        // input with bounds that aren't used for the error
+        bank.setContinuous(1, inputBounds, true);
+        bank.setDerivativeOnInput(1, true);
+        controllers[1].setContinuous(inputBounds, true);
+        controllers[1].setDerivativeOnInput(true);
+        bank.setContinuous(2, inputBounds, true);
+        controllers[2].setContinuous(inputBounds, true);
+        bank.setContinuous(3, inputBounds, false);
+        bank.setDerivativeOnInput(3, true);
+        controllers[3].setContinuous(inputBounds, false);
+        controllers[3].setDerivativeOnInput(true);
+
+        for (int i = 0; i < gains.length; i++) {
+            bank.initialize(i, 0.1 * i, 0.0, 0.2);
+            controllers[i].initialize(0.1 * i, 0.0, 0.2);
+        }
+
+        Random random = new Random(2733);
+        double[] inputs = new double[gains.length];
+        double[] setpoints = new double[gains.length];
+        double[] velocities = new double[gains.length];
+        double[] accelerations = new double[gains.length];
+        double[] outputs = new double[gains.length];
+        double time = 0.0;
+        for (int tick = 0; tick < 2000; tick++) {
+            // Repeat some timestamps to cover the zero time step case
+            if (random.nextInt(10) != 0) {
+                time += 0.02;
+            }
+            for (int i = 0; i < gains.length; i++) {
+                inputs[i] = random.nextDouble() * 8.0 - 4.0;
+                setpoints[i] = random.nextDouble() * 8.0 - 4.0;
+                velocities[i] = random.nextDouble() * 2.0 - 1.0;
+                accelerations[i] = random.nextDouble() * 2.0 - 1.0;
+            }
+            bank.calculateOutputs(inputs, setpoints, velocities, accelerations, time, outputs);
+            for (int i = 0; i < gains.length; i++) {
+                double expected = controllers[i].calculateOutput(inputs[i], setpoints[i], velocities[i],
+                        accelerations[i], time);
+                Assert.assertEquals(expected, outputs[i], epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void singleController() {
+        Gains gains = new Gains(2.0, 4.0, 0.5, 0.0, 1.0, 0.25);
+        Bounds outputBounds = new Bounds(-6.0, 6.0);
+        PIDFBank bank = new PIDFBank(2);
+        bank.add(gains, outputBounds);
+        int index = bank.add(gains, outputBounds);
+        PIDF controller = new PIDF(gains, outputBounds);
+
+        Assert.assertEquals(controller.calculateOutput(1.0, 1.5, 3.0, 3.0, 1.0),
+                bank.calculateOutput(index, 1.0, 1.5, 3.0, 3.0, 1.0), epsilon);
+        Assert.assertEquals(controller.calculateOutput(4.0, 6.0, 2.0), bank.calculateOutput(index, 4.0, 6.0, 2.0),
+                epsilon);
+    }
+
+    @Test
+    public void noFeedforwardArrays() {
+        Gains gains = new Gains(1.0, 0.0, 0.0, 0.0, 1.0, 1.0);
+        PIDFBank bank = new PIDFBank(1);
+        bank.add(gains, Bounds.noBounds());
+        double[] outputs = new double[1];
+        bank.calculateOutputs(new double[] { 1.0 }, new double[] { 3.0 }, null, null, 0.02, outputs);
+        Assert.assertEquals(2.0, outputs[0], epsilon);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void full() {
+        PIDFBank bank = new PIDFBank(1);
+        bank.add(new Gains(1.0, 0.0, 0.0), Bounds.noBounds());
+        bank.add(new Gains(1.0, 0.0, 0.0), Bounds.noBounds());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingIndex() {
+        PIDFBank bank = new PIDFBank(2);
+        bank.add(new Gains(1.0, 0.0, 0.0), Bounds.noBounds());
+        bank.calculateOutput(1, 0.0, 1.0, 0.02);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortArrays() {
+        PIDFBank bank = new PIDFBank(2);
+        bank.add(new Gains(1.0, 0.0, 0.0), Bounds.noBounds());
+        bank.add(new Gains(1.0, 0.0, 0.0), Bounds.noBounds());
+        bank.calculateOutputs(new double[2], new double[1], null, null, 0.02, new double[2]);
+    }
+}
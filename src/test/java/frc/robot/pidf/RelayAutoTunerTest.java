@@ -0,0 +1,128 @@
+package frc.robot.pidf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class RelayAutoTunerTest {
+    private static final double dt = 0.001;
+
+    // Frequency where the phase reaches -180 degrees, and the gain there
+    private static double[] ultimate(double gain, double lag, double delay) {
+        double low = 1e-3, high = 1e4;
+        for (int i = 0; i < 200; i++) {
+            double frequency = Math.sqrt(low * high);
+            if (Math.atan(frequency * lag) + frequency * delay < Math.PI / 2) {
+                low = frequency;
+            } else {
+                high = frequency;
+            }
+        }
+        double frequency = low;
+        double ultimateGain = frequency * Math.sqrt(1 + frequency * lag * frequency * lag) / gain;
+        return new double[] { ultimateGain, 2 * Math.PI / frequency };
+    }
+
+    @Test
+    public void findsUltimateGainAndPeriod() {
+        RelayAutoTuner tuner = new RelayAutoTuner(1.0, 0.0, dt);
+        // The estimate gets worse as the delay gets small compared to the lag, a lag
+        // of 30 times the delay is about 30% under
+        double[][] motors = { { 2.0, 0.1, 0.02 }, { 5.0, 0.05, 0.04 }, { 1.0, 0.3, 0.05 } };
+        for (double[] motor : motors) {
+            SimulatedMotor simulated = new SimulatedMotor(motor[0], motor[1], motor[2], dt);
+            RelayAutoTuner.Result result = tuner.tune(simulated, 1.0, 30.0);
+            double[] expected = ultimate(motor[0], motor[1], motor[2]);
+            Assert.assertEquals(expected[0], result.getUltimateGain(), 0.25 * expected[0]);
+            Assert.assertEquals(expected[1], result.getUltimatePeriod(), 0.1 * expected[1]);
+        }
+    }
+
+    @Test
+    public void deterministic() {
+        RelayAutoTuner tuner = new RelayAutoTuner(0.5, 0.01, dt);
+        RelayAutoTuner.Result first = tuner.tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        RelayAutoTuner.Result second = tuner.tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        Assert.assertEquals(first.getUltimateGain(), second.getUltimateGain(), 0.0);
+        Assert.assertEquals(first.getUltimatePeriod(), second.getUltimatePeriod(), 0.0);
+    }
+
+    @Test
+    public void hysteresisGivesSameEstimate() {
+        RelayAutoTuner.Result plain = new RelayAutoTuner(1.0, 0.0, dt)
+                .tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        RelayAutoTuner.Result hysteresis = new RelayAutoTuner(1.0, 0.005, dt)
+                .tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        Assert.assertEquals(plain.getUltimateGain(), hysteresis.getUltimateGain(), 0.2 * plain.getUltimateGain());
+    }
+
+    @Test
+    public void tunedGainsSettle() {
+        RelayAutoTuner tuner = new RelayAutoTuner(1.0, 0.0, dt);
+        RelayAutoTuner.Result result = tuner.tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 0.0, 30.0);
+        Gains gains = result.gains(RelayAutoTuner.Rule.NO_OVERSHOOT);
+
+        SimulatedMotor motor = new SimulatedMotor(2.0, 0.1, 0.02, dt);
+        PIDF controller = new PIDF(gains, new Bounds(-1.0, 1.0));
+        controller.initialize(0.0, 0.0, 0.0);
+        double maxPosition = 0.0;
+        for (int i = 1; i <= 10000; i++) {
+            double output = controller.calculateOutput(motor.getMeasurement(), 1.0, i * dt);
+            motor.step(output, dt);
+            maxPosition = Math.max(maxPosition, motor.getMeasurement());
+        }
+        Assert.assertEquals(1.0, motor.getMeasurement(), 0.01);
+        Assert.assertTrue(maxPosition < 1.2);
+    }
+
+    @Test
+    public void recordedExperiment() {
+        // Record a relay experiment as the robot would, then analyze it
+        SimulatedMotor motor = new SimulatedMotor(2.0, 0.1, 0.02, dt);
+        int count = 10000;
+        double[] times = new double[count], outputs = new double[count], measurements = new double[count];
+        double output = 1.0;
+        for (int i = 0; i < count; i++) {
+            if (motor.getMeasurement() > 1.0) {
+                output = -1.0;
+            } else if (motor.getMeasurement() < 1.0) {
+                output = 1.0;
+            }
+            times[i] = i * dt;
+            outputs[i] = output;
+            measurements[i] = motor.getMeasurement();
+            motor.step(output, dt);
+        }
+
+        RelayAutoTuner tuner = new RelayAutoTuner(1.0, 0.0, dt);
+        RelayAutoTuner.Result recorded = tuner.analyze(times, outputs, measurements);
+        RelayAutoTuner.Result simulated = tuner.tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        Assert.assertEquals(simulated.getUltimateGain(), recorded.getUltimateGain(), 1e-6);
+        Assert.assertEquals(simulated.getUltimatePeriod(), recorded.getUltimatePeriod(), 1e-6);
+    }
+
+    @Test
+    public void fastEnoughToTuneOffline() {
+        RelayAutoTuner tuner = new RelayAutoTuner(1.0, 0.0, dt);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            tuner.tune(new SimulatedMotor(2.0, 0.1, 0.02, dt), 1.0, 30.0);
+        }
+        Assert.assertTrue((System.nanoTime() - start) / 1e9 < 5.0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noOscillation() {
+        // A plant that never reaches the setpoint
+        Plant stuck = new Plant() {
+            public void step(double output, double dt) {
+            }
+
+            public double getMeasurement() {
+                return 0.0;
+            }
+        };
+        new RelayAutoTuner(1.0, 0.0, dt).tune(stuck, 1.0, 1.0);
+    }
+}
@@ -0,0 +1,72 @@
+package frc.robot.pidf;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import frc.robot.utils.Bounds;
+
+public class ScheduledPIDFTest {
+    private static final double epsilon = 1e-9;
+
+    private static GainSchedule schedule() {
+        double[] breakpoints = { 0.0, 1.0, 2.0 };
+        Gains[] gains = { new Gains(1.0, 0.5, 0.1, 0.0, 1.0, 0.0), new Gains(3.0, 0.5, 0.2, 0.0, 1.0, 0.1),
+                new Gains(2.0, 1.0, 0.0, 0.0, 1.0, 0.0) };
+        return new GainSchedule(breakpoints, gains);
+    }
+
+    @Test
+    public void matchesPIDFWithLookedUpGains() {
+        GainSchedule schedule = schedule();
+        ScheduledPIDF scheduled = new ScheduledPIDF(schedule, new Bounds(-5.0, 5.0));
+        scheduled.initialize(0.0, 0.0, 0.0);
+
+        // A fixed schedule value acts like a plain PIDF
+        PIDF fixed = new PIDF(schedule.getGains(1.5), new Bounds(-5.0, 5.0));
+        fixed.initialize(0.0, 0.0, 0.0);
+        for (int i = 1; i <= 100; i++) {
+            double time = i * 0.02;
+            double input = Math.sin(time);
+            Assert.assertEquals(fixed.calculateOutput(input, 1.0, 0.5, 0.1, time),
+                    scheduled.calculateOutput(1.5, input, 1.0, 0.5, 0.1, time), epsilon);
+        }
+    }
+
+    @Test
+    public void gainsFollowScheduleValue() {
+        GainSchedule schedule = schedule();
+        ScheduledPIDF low = new ScheduledPIDF(schedule, Bounds.noBounds());
+        ScheduledPIDF high = new ScheduledPIDF(schedule, Bounds.noBounds());
+        // Proportional only on the first update
+        Assert.assertEquals(1.0 + 0.5 * 0.02 + 0.1 * 1.0 / 0.02, low.calculateOutput(0.0, 0.0, 1.0, 0.02),
+                epsilon);
+        Assert.assertEquals(3.0 + 0.5 * 0.02 + 0.2 * 1.0 / 0.02, high.calculateOutput(1.0, 0.0, 1.0, 0.02),
+                epsilon);
+    }
+
+    private static long runControlLoop(ScheduledPIDF controller, int ticks) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        double position = 0.0;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ticks; i++) {
+            position += 0.02 * controller.calculateOutput(position, position, 2.0, i * 0.02);
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @Test
+    public void controlLoopAllocationFree() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+
+        ScheduledPIDF controller = new ScheduledPIDF(schedule(), new Bounds(-1.0, 1.0));
+        // Warm up, including the allocation counter itself
+        runControlLoop(controller, 10000);
+        Assert.assertEquals(0, runControlLoop(controller, 500));
+    }
+}
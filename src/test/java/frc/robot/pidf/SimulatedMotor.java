@@ -0,0 +1,49 @@
+package frc.robot.pidf;
+
+/**
+ * Motor driving a position, with a first order velocity lag, a dead time
+ * between output and motion, and optionally Coulomb friction. Without friction
+ * the transfer function is gain e^(-delay s) / (s (lag s + 1)), so kV = 1 /
+ * gain and kA = lag / gain.
+ */
+class SimulatedMotor implements Plant {
+    private final double gain, lag, friction;
+    private final double[] delayed;
+    private int delayIndex;
+    private double position, velocity;
+
+    public SimulatedMotor(double gain, double lag, double delay, double dt) {
+        this(gain, lag, delay, 0.0, dt);
+    }
+
+    // Friction is the output needed to keep moving
+    public SimulatedMotor(double gain, double lag, double delay, double friction, double dt) {
+        this.gain = gain;
+        this.lag = lag;
+        this.friction = friction;
+        this.delayed = new double[Math.max(1, (int) Math.round(delay / dt))];
+    }
+
+    public void step(double output, double dt) {
+        double applied = delayed[delayIndex];
+        delayed[delayIndex] = output;
+        delayIndex = (delayIndex + 1) % delayed.length;
+
+        if (velocity == 0.0 && Math.abs(applied) <= friction) {
+            // Stuck
+            return;
+        }
+        double direction = (velocity != 0.0) ? Math.signum(velocity) : Math.signum(applied);
+        double newVelocity = velocity + (gain * (applied - friction * direction) - velocity) / lag * dt;
+        // Friction stops the motor rather than reversing it
+        if (velocity != 0.0 && Math.signum(newVelocity) != direction && Math.abs(applied) <= friction) {
+            newVelocity = 0.0;
+        }
+        velocity = newVelocity;
+        position += velocity * dt;
+    }
+
+    public double getMeasurement() {
+        return position;
+    }
+}
@@ -0,0 +1,33 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DCMotorTest {
+    @Test
+    public void stallAndFreeSpeed() {
+        DCMotor cim = DCMotor.cim(2);
+        Assert.assertEquals(2 * 2.42, cim.getTorque(12.0, 0.0), 1e-9);
+        Assert.assertEquals(2 * 133.0, cim.getCurrent(12.0, 0.0), 1e-9);
+
+        double freeSpeed = Math.toRadians(5310.0 * 6.0);
+        // Slightly faster than the datasheet, which still has the free current flowing
+        Assert.assertEquals(freeSpeed, cim.getFreeSpeed(12.0), 0.03 * freeSpeed);
+        // Only the free current flows at free speed
+        Assert.assertEquals(2 * 2.7, cim.getCurrent(12.0, freeSpeed), 1e-6);
+    }
+
+    @Test
+    public void linearInVoltageAndSpeed() {
+        DCMotor motor = DCMotor.pro775(1);
+        Assert.assertEquals(motor.getTorque(12.0, 0.0) / 2.0, motor.getTorque(6.0, 0.0), 1e-9);
+        Assert.assertEquals(-motor.getTorque(6.0, 100.0), motor.getTorque(-6.0, -100.0), 1e-9);
+        // Back driven past free speed brakes
+        Assert.assertTrue(motor.getTorque(6.0, motor.getFreeSpeed(12.0)) < 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noMotors() {
+        DCMotor.miniCim(0);
+    }
+}
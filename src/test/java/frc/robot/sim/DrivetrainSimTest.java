@@ -0,0 +1,66 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DrivetrainSimTest {
+    private static final double dt = 0.02;
+    private static final double wheelRadius = 3 * 0.0254;
+
+    private static DrivetrainSim drivetrain() {
+        return new DrivetrainSim(DCMotor.cim(2), 10.71, wheelRadius, 50.0, 5.0, 0.6);
+    }
+
+    @Test
+    public void drivesStraight() {
+        DrivetrainSim drivetrain = drivetrain();
+        for (int i = 0; i < 200; i++) {
+            drivetrain.update(6.0, 6.0, dt);
+        }
+        Assert.assertEquals(0.0, drivetrain.getY(), 1e-9);
+        Assert.assertEquals(0.0, drivetrain.getHeading(), 1e-9);
+        Assert.assertEquals(drivetrain.getLeftDistance(), drivetrain.getX(), 1e-9);
+
+        // Reaches the free speed at the wheels
+        double freeSpeed = DCMotor.cim(2).getFreeSpeed(6.0) / 10.71 * wheelRadius;
+        Assert.assertEquals(freeSpeed, drivetrain.getLeftVelocity(), 0.01);
+    }
+
+    @Test
+    public void turnsInPlace() {
+        DrivetrainSim drivetrain = drivetrain();
+        for (int i = 0; i < 50; i++) {
+            drivetrain.update(-3.0, 3.0, dt);
+        }
+        Assert.assertEquals(0.0, drivetrain.getX(), 1e-9);
+        Assert.assertEquals(0.0, drivetrain.getY(), 1e-9);
+        Assert.assertTrue(drivetrain.getHeading() > 0.0);
+        double arc = (drivetrain.getRightDistance() - drivetrain.getLeftDistance()) / 0.6;
+        Assert.assertEquals(arc, drivetrain.getHeading(), 1e-9);
+    }
+
+    @Test
+    public void drivesArc() {
+        DrivetrainSim drivetrain = drivetrain();
+        for (int i = 0; i < 100; i++) {
+            drivetrain.update(4.0, 6.0, dt);
+        }
+        // Curves left
+        Assert.assertTrue(drivetrain.getY() > 0.0);
+        Assert.assertTrue(drivetrain.getHeading() > 0.0);
+    }
+
+    @Test
+    public void quantizedEncoders() {
+        DrivetrainSim drivetrain = drivetrain();
+        for (int i = 0; i < 10; i++) {
+            drivetrain.update(6.0, 6.0, dt);
+        }
+        double rotations = drivetrain.getLeftDistance() / (2 * Math.PI * wheelRadius);
+        Assert.assertEquals(Math.floor(rotations * 4096), drivetrain.getLeftEncoderCounts(), 0.0);
+
+        drivetrain.reset(1.0, 2.0, 0.5);
+        Assert.assertEquals(0.0, drivetrain.getRightEncoderCounts(), 0.0);
+        Assert.assertEquals(0.5, drivetrain.getHeading(), 0.0);
+    }
+}
@@ -0,0 +1,121 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.motion.ProfileState;
+import frc.robot.motion.StaticProfile;
+import frc.robot.pidf.Gains;
+import frc.robot.pidf.PIDF;
+import frc.robot.utils.Bounds;
+
+public class ElevatorSimTest {
+    private static final double dt = 0.02;
+    private static final double gearing = 20.0, drumRadius = 0.02, mass = 10.0;
+
+    private static ElevatorSim elevator() {
+        return new ElevatorSim(DCMotor.cim(1), gearing, drumRadius, mass, 0.0, 2.0);
+    }
+
+    // Voltage holding the carriage still against gravity
+    private static double holdVoltage() {
+        DCMotor motor = DCMotor.cim(1);
+        double torque = mass * 9.81 * drumRadius / gearing;
+        return 12.0 * torque / motor.getTorque(12.0, 0.0);
+    }
+
+    @Test
+    public void restsOnBottom() {
+        ElevatorSim elevator = elevator();
+        for (int i = 0; i < 50; i++) {
+            elevator.update(0.0, dt);
+        }
+        Assert.assertEquals(0.0, elevator.getHeight(), 0.0);
+        Assert.assertEquals(0.0, elevator.getVelocity(), 0.0);
+    }
+
+    @Test
+    public void holdsAgainstGravity() {
+        ElevatorSim elevator = elevator();
+        elevator.setState(1.0, 0.0);
+        for (int i = 0; i < 100; i++) {
+            elevator.update(holdVoltage(), dt);
+        }
+        Assert.assertEquals(1.0, elevator.getHeight(), 1e-9);
+
+        // And falls without it, slowly since the motor back drives
+        elevator.update(0.0, 0.5);
+        Assert.assertTrue(elevator.getHeight() < 0.99);
+    }
+
+    @Test
+    public void stopsAtTop() {
+        ElevatorSim elevator = elevator();
+        for (int i = 0; i < 500; i++) {
+            elevator.step(1.0, dt);
+        }
+        Assert.assertEquals(2.0, elevator.getHeight(), 0.0);
+        Assert.assertEquals(0.0, elevator.getVelocity(), 0.0);
+        // Pushing against the stop draws nearly stall current
+        Assert.assertEquals(133.0, elevator.getCurrent(), 1.0);
+    }
+
+    @Test
+    public void quantizedEncoder() {
+        ElevatorSim elevator = elevator();
+        double circumference = 2.0 * Math.PI * drumRadius;
+        elevator.setState(circumference * 1.5, 0.0);
+        Assert.assertEquals(6144.0, elevator.getEncoderCounts(), 0.0);
+        elevator.setState(circumference * 100.4 / 4096.0, 0.0);
+        Assert.assertEquals(100.0, elevator.getEncoderCounts(), 0.0);
+    }
+
+    @Test
+    public void tracksProfile() {
+        ElevatorSim elevator = elevator();
+        // Slow enough for the motor to keep up without saturating
+        StaticProfile profile = new StaticProfile(0.0, 0.0, 1.5, 0.4, 1.0, 1.0);
+        // Feedforward from the motor model plus P feedback, output as a fraction of
+        // 12 V
+        DCMotor motor = DCMotor.cim(1);
+        double kV = gearing / drumRadius / motor.getFreeSpeed(12.0);
+        double kA = mass * drumRadius / gearing / motor.getTorque(12.0, 0.0);
+        PIDF controller = new PIDF(new Gains(4.0, 0.0, 0.0, 0.0, kV, kA), new Bounds(-1.0, 1.0));
+        controller.initialize(0.0, 0.0, 0.0);
+        ProfileState setpoint = new ProfileState();
+
+        for (int i = 1; i * dt < profile.getDuration() + 1.0; i++) {
+            double time = i * dt;
+            profile.sample(time, setpoint);
+            double output = controller.calculateOutput(elevator.getHeight(), setpoint.getPosition(),
+                    setpoint.getVelocity(), setpoint.getAcceleration(), time) + holdVoltage() / 12.0;
+            elevator.step(output, dt);
+            Assert.assertEquals(setpoint.getPosition(), elevator.getHeight(), 0.05);
+        }
+        Assert.assertEquals(1.5, elevator.getHeight(), 0.01);
+    }
+
+    @Test
+    public void deterministic() {
+        ElevatorSim first = elevator();
+        ElevatorSim second = elevator();
+        for (int i = 0; i < 200; i++) {
+            double output = Math.sin(i * 0.1);
+            first.step(output, dt);
+            second.step(output, dt);
+        }
+        Assert.assertEquals(first.getHeight(), second.getHeight(), 0.0);
+    }
+
+    @Test
+    public void fasterThanRealTime() {
+        ElevatorSim elevator = elevator();
+        long start = System.nanoTime();
+        // Ten minutes of driving up and down
+        for (int i = 0; i < 30000; i++) {
+            elevator.step(Math.sin(i * 0.01), dt);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        Assert.assertTrue(elapsed < 600.0 / 100.0);
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RK4Test {
+    // dx/dt = -k x
+    private static final Dynamics decay = (state, inputs, out) -> out[0] = -inputs[0] * state[0];
+
+    // Mass on a spring, x'' = -x
+    private static final Dynamics oscillator = (state, inputs, out) -> {
+        out[0] = state[1];
+        out[1] = -state[0];
+    };
+
+    private static double decayError(double dt) {
+        RK4 integrator = new RK4(1);
+        double[] state = { 1.0 };
+        double[] inputs = { 2.0 };
+        int steps = (int) Math.round(1.0 / dt);
+        for (int i = 0; i < steps; i++) {
+            integrator.step(decay, state, inputs, dt);
+        }
+        return Math.abs(state[0] - Math.exp(-2.0));
+    }
+
+    @Test
+    public void exponentialDecay() {
+        Assert.assertTrue(decayError(0.01) < 1e-9);
+    }
+
+    @Test
+    public void fourthOrder() {
+        double ratio = decayError(0.1) / decayError(0.05);
+        Assert.assertEquals(16.0, ratio, 1.5);
+    }
+
+    @Test
+    public void oscillatorKeepsEnergy() {
+        RK4 integrator = new RK4(2);
+        double[] state = { 1.0, 0.0 };
+        integrator.integrate(oscillator, state, new double[0], 2 * Math.PI * 10, 0.001);
+        Assert.assertEquals(1.0, state[0], 1e-9);
+        Assert.assertEquals(0.0, state[1], 1e-9);
+    }
+
+    @Test
+    public void integrateSplitsSteps() {
+        // Same result as stepping by hand with the split step
+        RK4 integrator = new RK4(1);
+        double[] integrated = { 1.0 };
+        double[] stepped = { 1.0 };
+        double[] inputs = { 3.0 };
+        integrator.integrate(decay, integrated, inputs, 0.02, 0.003);
+        for (int i = 0; i < 7; i++) {
+            integrator.step(decay, stepped, inputs, 0.02 / 7);
+        }
+        Assert.assertEquals(stepped[0], integrated[0], 0.0);
+    }
+}
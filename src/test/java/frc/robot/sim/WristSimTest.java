@@ -0,0 +1,65 @@
+package frc.robot.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WristSimTest {
+    private static final double dt = 0.02;
+    private static final double gearing = 100.0, mass = 3.0, centerOfMass = 0.25;
+
+    private static WristSim wrist() {
+        return new WristSim(DCMotor.pro775(1), gearing, mass, centerOfMass, mass * centerOfMass * centerOfMass,
+                -Math.PI / 2, Math.PI / 2);
+    }
+
+    // Voltage holding the wrist still at angle
+    private static double holdVoltage(double angle) {
+        double torque = mass * 9.81 * centerOfMass * Math.cos(angle) / gearing;
+        return 12.0 * torque / DCMotor.pro775(1).getTorque(12.0, 0.0);
+    }
+
+    @Test
+    public void gravityDependsOnAngle() {
+        for (double angle : new double[] { -1.0, 0.0, 0.5, 1.2 }) {
+            WristSim wrist = wrist();
+            wrist.setState(angle, 0.0);
+            for (int i = 0; i < 100; i++) {
+                wrist.update(holdVoltage(angle), dt);
+            }
+            Assert.assertEquals(angle, wrist.getAngle(), 1e-9);
+        }
+        Assert.assertTrue(holdVoltage(0.0) > holdVoltage(1.2));
+    }
+
+    @Test
+    public void fallsToLowerStop() {
+        WristSim wrist = wrist();
+        wrist.setState(0.0, 0.0);
+        for (int i = 0; i < 500; i++) {
+            wrist.step(0.0, dt);
+        }
+        // Gravity torque vanishes hanging straight down, so it only approaches it
+        Assert.assertEquals(-Math.PI / 2, wrist.getAngle(), 1e-6);
+        Assert.assertEquals(0.0, wrist.getVelocity(), 1e-6);
+    }
+
+    @Test
+    public void backDrivenSlowly() {
+        // The motor brakes the fall when shorted, so it falls slower than free fall
+        WristSim wrist = wrist();
+        wrist.setState(0.0, 0.0);
+        wrist.update(0.0, 0.1);
+        double freeFall = 0.5 * 9.81 / centerOfMass * 0.1 * 0.1;
+        Assert.assertTrue(-wrist.getAngle() < freeFall);
+        Assert.assertTrue(wrist.getAngle() < 0.0);
+    }
+
+    @Test
+    public void quantizedEncoder() {
+        WristSim wrist = wrist();
+        wrist.setState(-Math.PI / 2 + Math.PI, 0.0);
+        Assert.assertEquals(2048.0, wrist.getEncoderCounts(), 0.0);
+        wrist.setState(-Math.PI / 2 + 2 * Math.PI * 10.5 / 4096, 0.0);
+        Assert.assertEquals(10.0, wrist.getEncoderCounts(), 0.0);
+    }
+}
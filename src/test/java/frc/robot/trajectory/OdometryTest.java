@@ -0,0 +1,42 @@
+package frc.robot.trajectory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OdometryTest {
+    private static final double epsilon = 1e-6;
+
+    @Test
+    public void straight() {
+        Odometry odometry = new Odometry();
+        odometry.reset(new Pose(1.0, 2.0, Math.PI / 2), 5.0, 5.0, 0.3);
+        odometry.update(6.0, 6.0, 0.3);
+        Assert.assertEquals(1.0, odometry.getX(), epsilon);
+        Assert.assertEquals(3.0, odometry.getY(), epsilon);
+        Assert.assertEquals(Math.PI / 2, odometry.getHeading(), epsilon);
+    }
+
+    @Test
+    public void circle() {
+        // Quarter circle of radius 1, counterclockwise, in many small steps
+        double trackWidth = 0.5;
+        Odometry odometry = new Odometry();
+        int steps = 100;
+        for (int i = 1; i <= steps; i++) {
+            double angle = Math.PI / 2 * i / steps;
+            odometry.update(angle * (1.0 - trackWidth / 2), angle * (1.0 + trackWidth / 2), angle);
+        }
+        Assert.assertEquals(1.0, odometry.getX(), epsilon);
+        Assert.assertEquals(1.0, odometry.getY(), epsilon);
+        Assert.assertEquals(Math.PI / 2, odometry.getHeading(), epsilon);
+    }
+
+    @Test
+    public void singleArc() {
+        // Integrating as an arc is exact for constant curvature, even in one step
+        Odometry odometry = new Odometry();
+        odometry.update(Math.PI / 2, Math.PI / 2, Math.PI / 2);
+        Assert.assertEquals(1.0, odometry.getX(), epsilon);
+        Assert.assertEquals(1.0, odometry.getY(), epsilon);
+    }
+}
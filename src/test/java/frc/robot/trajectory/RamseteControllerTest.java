@@ -0,0 +1,131 @@
+package frc.robot.trajectory;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RamseteControllerTest {
+    private static final double epsilon = 1e-9;
+    private static final double dt = 0.02;
+    private static final double trackWidth = 0.6;
+
+    // Simulated differential drive - wheels reach the commanded velocity with a
+    // first order lag and a gain error, and odometry sees the true wheel travel
+    private static class SimulatedDrive {
+        private static final double timeConstant = 0.05;
+
+        private final double wheelGain;
+        private double x, y, heading;
+        private double leftVelocity, rightVelocity;
+        private double leftDistance, rightDistance;
+
+        SimulatedDrive(Pose start, double wheelGain) {
+            x = start.getX();
+            y = start.getY();
+            heading = start.getHeading();
+            this.wheelGain = wheelGain;
+        }
+
+        void step(double leftCommand, double rightCommand) {
+            // Several substeps per control tick
+            int substeps = 10;
+            double h = dt / substeps;
+            for (int i = 0; i < substeps; i++) {
+                leftVelocity += (wheelGain * leftCommand - leftVelocity) * h / timeConstant;
+                rightVelocity += (wheelGain * rightCommand - rightVelocity) * h / timeConstant;
+                double velocity = 0.5 * (leftVelocity + rightVelocity);
+                double angularVelocity = (rightVelocity - leftVelocity) / trackWidth;
+                x += velocity * Math.cos(heading) * h;
+                y += velocity * Math.sin(heading) * h;
+                heading += angularVelocity * h;
+                leftDistance += leftVelocity * h;
+                rightDistance += rightVelocity * h;
+            }
+        }
+    }
+
+    // Follows trajectory from start with the given wheel gain error, returning the
+    // largest position error in the last half of the run
+    private static double track(Trajectory trajectory, Pose start, double wheelGain, double[] finalError) {
+        SimulatedDrive drive = new SimulatedDrive(start, wheelGain);
+        RamseteController controller = new RamseteController(2.0, 0.7, trackWidth);
+        Odometry odometry = new Odometry();
+        odometry.reset(start, 0.0, 0.0, start.getHeading());
+        TrajectoryState setpoint = new TrajectoryState();
+
+        double maxError = 0.0;
+        int ticks = (int) Math.ceil(trajectory.getDuration() / dt) + 50;
+        for (int tick = 0; tick <= ticks; tick++) {
+            double time = tick * dt;
+            odometry.update(drive.leftDistance, drive.rightDistance, drive.heading);
+            trajectory.sample(time, setpoint);
+            controller.calculate(odometry.getX(), odometry.getY(), odometry.getHeading(), setpoint);
+            drive.step(controller.getLeftVelocity(), controller.getRightVelocity());
+
+            double error = Math.hypot(setpoint.getX() - drive.x, setpoint.getY() - drive.y);
+            if (tick > ticks / 2) {
+                maxError = Math.max(maxError, error);
+            }
+        }
+        finalError[0] = Math.hypot(setpoint.getX() - drive.x, setpoint.getY() - drive.y);
+        finalError[1] = Math.abs(Trajectory.angleDifference(setpoint.getHeading(), drive.heading));
+        return maxError;
+    }
+
+    private static Trajectory sCurve() {
+        TrajectoryConfig config = new TrajectoryConfig(2.0, 1.5, 1.5, trackWidth);
+        return new TrajectoryGenerator(config).generate(Arrays.asList(new Pose(0.0, 0.0, 0.0),
+                new Pose(3.0, 1.5, Math.PI / 4), new Pose(6.0, 0.0, -Math.PI / 4)));
+    }
+
+    @Test
+    public void noErrorFollowsTrajectory() {
+        RamseteController controller = new RamseteController(2.0, 0.7, trackWidth);
+        Trajectory trajectory = sCurve();
+        TrajectoryState setpoint = new TrajectoryState();
+        trajectory.sample(trajectory.getDuration() / 3, setpoint);
+
+        controller.calculate(setpoint.getX(), setpoint.getY(), setpoint.getHeading(), setpoint);
+        Assert.assertEquals(setpoint.getVelocity(), controller.getLinearVelocity(), epsilon);
+        Assert.assertEquals(setpoint.getAngularVelocity(), controller.getAngularVelocity(), epsilon);
+        Assert.assertEquals(setpoint.getLeftVelocity(), controller.getLeftVelocity(), epsilon);
+        Assert.assertEquals(setpoint.getRightVelocity(), controller.getRightVelocity(), epsilon);
+    }
+
+    @Test
+    public void tracksWithPlantError() {
+        // Wheels only reach 85% of the commanded velocity
+        double[] finalError = new double[2];
+        double maxError = track(sCurve(), new Pose(0.0, 0.0, 0.0), 0.85, finalError);
+        Assert.assertTrue("Tracking error " + maxError, maxError < 0.1);
+        Assert.assertTrue("Final error " + finalError[0], finalError[0] < 0.05);
+        Assert.assertTrue("Final heading error " + finalError[1], finalError[1] < 0.05);
+    }
+
+    @Test
+    public void convergesFromOffsetStart() {
+        // Starts 0.36m and 0.3 radians off the trajectory
+        double[] finalError = new double[2];
+        double maxError = track(sCurve(), new Pose(-0.2, 0.3, 0.3), 1.0, finalError);
+        Assert.assertTrue("Tracking error " + maxError, maxError < 0.1);
+        Assert.assertTrue("Final heading error " + finalError[1], finalError[1] < 0.05);
+    }
+
+    @Test
+    public void fastEnoughForControlLoop() {
+        RamseteController controller = new RamseteController(2.0, 0.7, trackWidth);
+        Trajectory trajectory = sCurve();
+        TrajectoryState setpoint = new TrajectoryState();
+
+        // Sampling and control for a whole run is far under one 20ms period
+        int iterations = 100000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            trajectory.sample((i % 1000) * trajectory.getDuration() / 1000, setpoint);
+            controller.calculate(0.1, 0.1, 0.1, setpoint);
+        }
+        double perUpdate = (System.nanoTime() - start) / 1e9 / iterations;
+        Assert.assertTrue(perUpdate < 0.001);
+    }
+}
@@ -0,0 +1,55 @@
+package frc.robot.trajectory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SplineTest {
+    private static final double epsilon = 1e-9;
+
+    private static void checkEnds(Spline spline, Pose start, Pose end) {
+        Assert.assertEquals(start.getX(), spline.getX(0.0), epsilon);
+        Assert.assertEquals(start.getY(), spline.getY(0.0), epsilon);
+        Assert.assertEquals(start.getHeading(), spline.getHeading(0.0), epsilon);
+        Assert.assertEquals(end.getX(), spline.getX(1.0), epsilon);
+        Assert.assertEquals(end.getY(), spline.getY(1.0), epsilon);
+        Assert.assertEquals(end.getHeading(), spline.getHeading(1.0), epsilon);
+    }
+
+    @Test
+    public void cubicEnds() {
+        Pose start = new Pose(0.0, 0.0, 0.0);
+        Pose end = new Pose(3.0, 2.0, Math.PI / 2);
+        checkEnds(new CubicHermiteSpline(start, end), start, end);
+    }
+
+    @Test
+    public void quinticEnds() {
+        Pose start = new Pose(1.0, -1.0, Math.PI / 4);
+        Pose end = new Pose(4.0, 3.0, -Math.PI / 6);
+        QuinticHermiteSpline spline = new QuinticHermiteSpline(start, end);
+        checkEnds(spline, start, end);
+
+        // Straight at both ends so consecutive splines join smoothly
+        Assert.assertEquals(0.0, spline.getCurvature(0.0), epsilon);
+        Assert.assertEquals(0.0, spline.getCurvature(1.0), epsilon);
+    }
+
+    @Test
+    public void straightLine() {
+        QuinticHermiteSpline spline = new QuinticHermiteSpline(new Pose(0.0, 0.0, 0.0), new Pose(5.0, 0.0, 0.0));
+        for (double t = 0.0; t <= 1.0; t += 0.05) {
+            Assert.assertEquals(0.0, spline.getY(t), epsilon);
+            Assert.assertEquals(0.0, spline.getHeading(t), epsilon);
+            Assert.assertEquals(0.0, spline.getCurvature(t), epsilon);
+        }
+    }
+
+    @Test
+    public void curvatureSign() {
+        // Turning left is positive curvature
+        CubicHermiteSpline left = new CubicHermiteSpline(new Pose(0.0, 0.0, 0.0), new Pose(2.0, 2.0, Math.PI / 2));
+        Assert.assertTrue(left.getCurvature(0.5) > 0.0);
+        CubicHermiteSpline right = new CubicHermiteSpline(new Pose(0.0, 0.0, 0.0), new Pose(2.0, -2.0, -Math.PI / 2));
+        Assert.assertTrue(right.getCurvature(0.5) < 0.0);
+    }
+}
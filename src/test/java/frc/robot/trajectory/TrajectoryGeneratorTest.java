@@ -0,0 +1,135 @@
+package frc.robot.trajectory;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TrajectoryGeneratorTest {
+    private static final double epsilon = 1e-6;
+
+    private static final double maxVelocity = 3.0, maxAccel = 2.0, maxCentripetalAccel = 1.5, trackWidth = 0.6;
+
+    // Checks the trajectory starts and ends at rest on the waypoints and stays
+    // within every limit of config
+    private static void checkTrajectory(Trajectory trajectory, Pose start, Pose end, TrajectoryConfig config) {
+        TrajectoryState state = new TrajectoryState();
+        trajectory.sample(0.0, state);
+        Assert.assertEquals(start.getX(), state.getX(), epsilon);
+        Assert.assertEquals(start.getY(), state.getY(), epsilon);
+        Assert.assertEquals(0.0, state.getVelocity(), epsilon);
+
+        double step = 0.005;
+        double previousVelocity = 0.0;
+        for (double time = step; time < trajectory.getDuration() + 0.1; time += step) {
+            trajectory.sample(time, state);
+            double velocity = state.getVelocity();
+            Assert.assertTrue(velocity >= -epsilon);
+            Assert.assertTrue(velocity <= config.getMaxVelocity() + epsilon);
+            Assert.assertEquals(previousVelocity, velocity, config.getMaxAccel() * step + epsilon);
+            Assert.assertTrue(Math.abs(state.getAcceleration()) <= config.getMaxAccel() + epsilon);
+            Assert.assertTrue(Math.abs(state.getLeftVelocity()) <= config.getMaxVelocity() + epsilon);
+            Assert.assertTrue(Math.abs(state.getRightVelocity()) <= config.getMaxVelocity() + epsilon);
+            // Centripetal limit holds at the sample points, allow for interpolating
+            // curvature between them
+            Assert.assertTrue(velocity * velocity * Math.abs(state.getCurvature()) <= config.getMaxCentripetalAccel()
+                    + 0.05);
+            previousVelocity = velocity;
+        }
+
+        Assert.assertEquals(end.getX(), state.getX(), epsilon);
+        Assert.assertEquals(end.getY(), state.getY(), epsilon);
+        Assert.assertEquals(0.0, state.getVelocity(), epsilon);
+    }
+
+    @Test
+    public void straightLineMatchesTrapezoid() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth);
+        Pose start = new Pose(0.0, 0.0, 0.0);
+        Pose end = new Pose(8.0, 0.0, 0.0);
+        Trajectory trajectory = new TrajectoryGenerator(config).generate(Arrays.asList(start, end));
+
+        // Accelerate and decelerate for 1.5s each, cruise for the remaining 3.5m
+        Assert.assertEquals(8.0, trajectory.getLength(), epsilon);
+        Assert.assertEquals(1.5 + 3.5 / 3.0 + 1.5, trajectory.getDuration(), 1e-3);
+        checkTrajectory(trajectory, start, end, config);
+    }
+
+    @Test
+    public void sCurve() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth);
+        Pose start = new Pose(0.0, 0.0, 0.0);
+        Pose middle = new Pose(3.0, 1.5, Math.PI / 4);
+        Pose end = new Pose(6.0, 0.0, -Math.PI / 4);
+        Trajectory trajectory = new TrajectoryGenerator(config).generate(Arrays.asList(start, middle, end));
+        checkTrajectory(trajectory, start, end, config);
+    }
+
+    @Test
+    public void cubicTurn() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth,
+                TrajectoryConfig.SplineType.CUBIC);
+        Pose start = new Pose(0.0, 0.0, 0.0);
+        Pose end = new Pose(3.0, 3.0, Math.PI / 2);
+        Trajectory trajectory = new TrajectoryGenerator(config).generate(Arrays.asList(start, end));
+        checkTrajectory(trajectory, start, end, config);
+
+        // Slower than driving the same distance in a straight line
+        double straightTime = 2 * Math.sqrt(trajectory.getLength() / maxAccel);
+        Assert.assertTrue(trajectory.getDuration() > straightTime);
+    }
+
+    @Test
+    public void wheelSpeedsFollowCurvature() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth);
+        Trajectory trajectory = new TrajectoryGenerator(config)
+                .generate(Arrays.asList(new Pose(0.0, 0.0, 0.0), new Pose(3.0, 3.0, Math.PI / 2)));
+
+        TrajectoryState state = new TrajectoryState();
+        trajectory.sample(trajectory.getDuration() / 2, state);
+        // Turning left, so the right wheel is on the outside
+        Assert.assertTrue(state.getCurvature() > 0.0);
+        Assert.assertTrue(state.getRightVelocity() > state.getLeftVelocity());
+        Assert.assertEquals(state.getVelocity(), 0.5 * (state.getLeftVelocity() + state.getRightVelocity()),
+                epsilon);
+        Assert.assertEquals(state.getAngularVelocity(),
+                (state.getRightVelocity() - state.getLeftVelocity()) / trackWidth, epsilon);
+    }
+
+    @Test
+    public void evenlySpacedAlongCurves() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth,
+                TrajectoryConfig.SplineType.CUBIC);
+        // Cubic splines change speed in t the most through a tight turn
+        Trajectory trajectory = new TrajectoryGenerator(config)
+                .generate(Arrays.asList(new Pose(0.0, 0.0, 0.0), new Pose(1.0, 2.0, Math.PI)));
+
+        int count = trajectory.getPointCount();
+        double spacing = trajectory.getLength() / (count - 1);
+        Assert.assertTrue(spacing <= config.getSampleSpacing());
+        for (int i = 1; i < count; i++) {
+            double distance = trajectory.getDistance(i) - trajectory.getDistance(i - 1);
+            Assert.assertEquals(spacing, distance, 0.01 * spacing);
+        }
+    }
+
+    @Test
+    public void headingWrapsAround() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth);
+        // Driving in the -x direction, heading flips between pi and -pi
+        Trajectory trajectory = new TrajectoryGenerator(config)
+                .generate(Arrays.asList(new Pose(0.0, 0.0, Math.PI), new Pose(-4.0, 0.5, Math.PI)));
+
+        TrajectoryState state = new TrajectoryState();
+        for (double time = 0.0; time < trajectory.getDuration(); time += 0.01) {
+            trajectory.sample(time, state);
+            Assert.assertTrue(Math.abs(Math.cos(state.getHeading()) + 1.0) < 0.2);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void singleWaypoint() {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAccel, maxCentripetalAccel, trackWidth);
+        new TrajectoryGenerator(config).generate(Arrays.asList(new Pose(0.0, 0.0, 0.0)));
+    }
+}
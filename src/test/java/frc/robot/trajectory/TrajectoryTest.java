@@ -0,0 +1,79 @@
+package frc.robot.trajectory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import frc.robot.motion.MappedProfile;
+import frc.robot.motion.ProfileLimits;
+import frc.robot.motion.StaticProfile;
+
+public class TrajectoryTest {
+    private static Trajectory generate() {
+        TrajectoryConfig config = new TrajectoryConfig(3.0, 2.0, 1.5, 0.6);
+        return new TrajectoryGenerator(config).generate(Arrays.asList(new Pose(0.0, 0.0, 0.0),
+                new Pose(3.0, 1.5, Math.PI / 4), new Pose(6.0, 0.0, -Math.PI / 4)));
+    }
+
+    @Test
+    public void fileRoundTrip() throws IOException {
+        Trajectory trajectory = generate();
+        Path path = Files.createTempFile("trajectory", ".bin");
+        try {
+            trajectory.write(path);
+            Trajectory loaded = Trajectory.load(path);
+
+            Assert.assertEquals(trajectory.getPointCount(), loaded.getPointCount());
+            Assert.assertEquals(trajectory.getDuration(), loaded.getDuration(), 0.0);
+            Assert.assertEquals(trajectory.getLength(), loaded.getLength(), 0.0);
+            Assert.assertEquals(3.0, loaded.getConfig().getMaxVelocity(), 0.0);
+            Assert.assertEquals(2.0, loaded.getConfig().getMaxAccel(), 0.0);
+            Assert.assertEquals(1.5, loaded.getConfig().getMaxCentripetalAccel(), 0.0);
+            Assert.assertEquals(0.6, loaded.getTrackWidth(), 0.0);
+
+            TrajectoryState expected = new TrajectoryState();
+            TrajectoryState actual = new TrajectoryState();
+            for (double time = 0.0; time < trajectory.getDuration() + 0.1; time += 0.013) {
+                trajectory.sample(time, expected);
+                loaded.sample(time, actual);
+                Assert.assertEquals(expected.getX(), actual.getX(), 0.0);
+                Assert.assertEquals(expected.getY(), actual.getY(), 0.0);
+                Assert.assertEquals(expected.getHeading(), actual.getHeading(), 0.0);
+                Assert.assertEquals(expected.getVelocity(), actual.getVelocity(), 0.0);
+                Assert.assertEquals(expected.getLeftVelocity(), actual.getLeftVelocity(), 0.0);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void profileIsNotATrajectory() throws IOException {
+        Path path = Files.createTempFile("profile", ".bin");
+        try {
+            MappedProfile.write(new StaticProfile(0.0, 0.0, 4.0, 2.0, 1.0, 1.0), new ProfileLimits(2.0, 1.0, 1.0),
+                    0.02, path);
+            Trajectory.load(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void sampleOutOfOrder() {
+        Trajectory trajectory = generate();
+        TrajectoryState forward = new TrajectoryState();
+        TrajectoryState jumped = new TrajectoryState();
+        double[] times = { 2.0, 0.5, 3.1, 3.12, 1.0, 0.0, 10.0, 2.0 };
+        for (double time : times) {
+            trajectory.sample(time, jumped);
+            generate().sample(time, forward);
+            Assert.assertEquals(forward.getX(), jumped.getX(), 0.0);
+            Assert.assertEquals(forward.getY(), jumped.getY(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package frc.robot.utils;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LeastSquaresTest {
+    private static final double epsilon = 1e-9;
+
+    @Test
+    public void exactFit() {
+        LeastSquares fit = new LeastSquares(3);
+        Random random = new Random(2733);
+        double[] x = new double[3];
+        for (int i = 0; i < 100; i++) {
+            x[0] = 1.0;
+            x[1] = random.nextDouble() * 10.0 - 5.0;
+            x[2] = random.nextDouble() * 10.0 - 5.0;
+            fit.add(x, 0.5 - 2.0 * x[1] + 0.25 * x[2]);
+        }
+        double[] coefficients = fit.solve();
+        Assert.assertEquals(0.5, coefficients[0], epsilon);
+        Assert.assertEquals(-2.0, coefficients[1], epsilon);
+        Assert.assertEquals(0.25, coefficients[2], epsilon);
+        Assert.assertEquals(0.0, fit.getRootMeanSquareError(coefficients), 1e-6);
+        Assert.assertEquals(100, fit.getCount());
+    }
+
+    @Test
+    public void noisyFit() {
+        LeastSquares fit = new LeastSquares(2);
+        Random random = new Random(2733);
+        double[] x = new double[2];
+        for (int i = 0; i < 100000; i++) {
+            x[0] = 1.0;
+            x[1] = random.nextDouble() * 10.0;
+            fit.add(x, 3.0 + 0.5 * x[1] + 0.1 * random.nextGaussian());
+        }
+        double[] coefficients = fit.solve();
+        Assert.assertEquals(3.0, coefficients[0], 0.01);
+        Assert.assertEquals(0.5, coefficients[1], 0.01);
+        Assert.assertEquals(0.1, fit.getRootMeanSquareError(coefficients), 0.01);
+    }
+
+    @Test
+    public void needsPivoting() {
+        // Zero on the diagonal of the first row after elimination order
+        LeastSquares fit = new LeastSquares(2);
+        fit.add(new double[] { 0.0, 1.0 }, 2.0);
+        fit.add(new double[] { 1.0, 0.0 }, 3.0);
+        double[] coefficients = fit.solve();
+        Assert.assertEquals(3.0, coefficients[0], epsilon);
+        Assert.assertEquals(2.0, coefficients[1], epsilon);
+    }
+
+    @Test
+    public void clear() {
+        LeastSquares fit = new LeastSquares(1);
+        fit.add(new double[] { 1.0 }, 5.0);
+        fit.clear();
+        fit.add(new double[] { 2.0 }, 2.0);
+        Assert.assertEquals(1.0, fit.solve()[0], epsilon);
+        Assert.assertEquals(1, fit.getCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void underdetermined() {
+        LeastSquares fit = new LeastSquares(2);
+        fit.add(new double[] { 1.0, 2.0 }, 1.0);
+        fit.add(new double[] { 2.0, 4.0 }, 2.0);
+        fit.solve();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongSize() {
+        new LeastSquares(2).add(new double[3], 1.0);
+    }
+}
@@ -32,10 +32,20 @@ public class Plot {
     }
 
     public Plot(String title, Data data, double duration, String seriesName, double step) {
+        this(title, createSeries(data, duration, seriesName, step), duration);
+    }
+
+    /**
+     * Plot values already sampled at times
+     */
+    public Plot(String title, double[] times, double[] values, String seriesName) {
+        this(title, createSeries(times, values, seriesName), times[times.length - 1]);
+    }
+
+    private Plot(String title, XYSeries series, double duration) {
         this.title = title;
         this.duration = duration;
 
-        XYSeries series = createSeries(data, duration, seriesName, step);
         dataset = new XYSeriesCollection();
         dataset.addSeries(series);
 
@@ -61,7 +71,14 @@ public class Plot {
     }
 
     public void addSeries(Data data, String seriesName, double step) {
-        XYSeries series = createSeries(data, duration, seriesName, step);
+        addSeries(createSeries(data, duration, seriesName, step));
+    }
+
+    public void addSeries(double[] times, double[] values, String seriesName) {
+        addSeries(createSeries(times, values, seriesName));
+    }
+
+    private void addSeries(XYSeries series) {
         dataset.addSeries(series);
 
         int seriesIndex = dataset.getSeriesCount() - 1;
@@ -69,7 +86,15 @@ public class Plot {
         renderer.setSeriesStroke(seriesIndex, new BasicStroke(3.0f));
     }
 
-    private XYSeries createSeries(Data data, double duration, String seriesName, double step) {
+    private static XYSeries createSeries(double[] times, double[] values, String seriesName) {
+        XYSeries series = new XYSeries(seriesName);
+        for (int i = 0; i < times.length; i++) {
+            series.add(times[i], values[i]);
+        }
+        return series;
+    }
+
+    private static XYSeries createSeries(Data data, double duration, String seriesName, double step) {
         XYSeries series = new XYSeries(seriesName);
         for (double i = 0.0; i < duration; i += step) {
             series.add(i, data.get(i));
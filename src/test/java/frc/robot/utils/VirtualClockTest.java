@@ -0,0 +1,25 @@
+package frc.robot.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VirtualClockTest {
+    @Test
+    public void onlyMovesWhenAdvanced() {
+        VirtualClock clock = new VirtualClock(1.5);
+        Assert.assertEquals(1.5, clock.getTime(), 0.0);
+        Assert.assertEquals(1.5, clock.getTime(), 0.0);
+
+        clock.advance(0.02);
+        clock.advance(0.0);
+        Assert.assertEquals(1.52, clock.getTime(), 1e-12);
+
+        clock.setTime(0.0);
+        Assert.assertEquals(0.0, clock.getTime(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backwards() {
+        new VirtualClock().advance(-0.02);
+    }
+}